@@ -0,0 +1,82 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import support.DriverPool;
+import support.TestConfig;
+
+/**
+ * Сравнение стратегий поиска элементов на первом шаге формы заказа:
+ * абсолютный XPath, XPath по тексту, XPath и CSS по placeholder и CSS по классу.
+ * Поиск по id не сравнивается: у элементов формы нет id, а сравнение на другом элементе было бы нечестным.
+ * Каждый замер — один вызов findElement, включая запрос к chromedriver и вычисление локатора в браузере.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dscooter.target=local", "-Dinstrumentation.enabled=false"})
+public class LocatorBenchmark {
+
+    // Кнопка "Далее" по абсолютному пути от корня (как orderButton и confirmOrderButton в OrderPage)
+    private static final By ABSOLUTE_XPATH = By.xpath("//*[@id=\"root\"]/div/div[2]/div[3]/button[1]");
+    // Та же кнопка по тексту (как nextButton в OrderPage)
+    private static final By TEXT_XPATH = By.xpath("//button[text()='Далее']");
+    // Поле "Имя" по placeholder (как поля формы в OrderPage)
+    private static final By PLACEHOLDER_XPATH = By.xpath("//input[@placeholder='* Имя']");
+    private static final By PLACEHOLDER_CSS = By.cssSelector("input[placeholder='* Имя']");
+    private static final By CLASS_CSS = By.cssSelector(".Order_NextButton__1_rCA button");
+
+    private WebDriver driver;
+
+    @Setup
+    public void openOrderForm() {
+        driver = DriverPool.shared().lease();
+        driver.get(TestConfig.baseUrl() + "order");
+    }
+
+    @TearDown
+    public void release() {
+        DriverPool.shared().release(driver);
+    }
+
+    @Benchmark
+    public WebElement absoluteXPath() {
+        return driver.findElement(ABSOLUTE_XPATH);
+    }
+
+    @Benchmark
+    public WebElement textXPath() {
+        return driver.findElement(TEXT_XPATH);
+    }
+
+    @Benchmark
+    public WebElement placeholderXPath() {
+        return driver.findElement(PLACEHOLDER_XPATH);
+    }
+
+    @Benchmark
+    public WebElement placeholderCss() {
+        return driver.findElement(PLACEHOLDER_CSS);
+    }
+
+    @Benchmark
+    public WebElement classCss() {
+        return driver.findElement(CLASS_CSS);
+    }
+}
@@ -0,0 +1,119 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import pageObjects.HomePage;
+import pageObjects.OrderPage;
+import support.DriverPool;
+import support.TestConfig;
+
+/**
+ * Длительность операций page objects целиком, на локальной копии приложения.
+ * Подготовка страницы (переходы, заполнение предыдущих шагов) в замер не входит.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dscooter.target=local", "-Dinstrumentation.enabled=false"})
+public class PageObjectBenchmark {
+
+    /**
+     * Главная страница: новый HomePage на каждый вызов, чтобы кэш элементов был пустым.
+     */
+    @State(Scope.Benchmark)
+    public static class Home {
+        WebDriver driver;
+
+        @Setup
+        public void open() {
+            driver = DriverPool.shared().lease();
+        }
+
+        @TearDown
+        public void release() {
+            DriverPool.shared().release(driver);
+        }
+    }
+
+    /**
+     * Первый шаг формы заказа, открываемый заново перед каждым вызовом.
+     */
+    @State(Scope.Benchmark)
+    public static class OrderStepOne {
+        @Param({"KEYSTROKES", "BATCHED"})
+        public OrderPage.FillMode fillMode;
+
+        WebDriver driver;
+        OrderPage orderPage;
+
+        @Setup(Level.Trial)
+        public void lease() {
+            driver = DriverPool.shared().lease();
+        }
+
+        @Setup(Level.Invocation)
+        public void openForm() {
+            driver.get(TestConfig.baseUrl() + "order");
+            orderPage = new OrderPage(driver, fillMode);
+        }
+
+        @TearDown(Level.Trial)
+        public void release() {
+            DriverPool.shared().release(driver);
+        }
+    }
+
+    /**
+     * Второй шаг формы заказа; повторные вызовы выбора цвета переключают чекбокс.
+     */
+    @State(Scope.Benchmark)
+    public static class OrderStepTwo {
+        WebDriver driver;
+        OrderPage orderPage;
+
+        @Setup
+        public void openStepTwo() {
+            driver = DriverPool.shared().lease();
+            driver.get(TestConfig.baseUrl() + "order");
+            orderPage = new OrderPage(driver, OrderPage.FillMode.BATCHED);
+            orderPage.fillOrderFormStepOne("Иван", "Иванов", "ул. Ленина, д. 1", "Лубянка", "89123456789");
+            orderPage.clickNextButton();
+        }
+
+        @TearDown
+        public void release() {
+            DriverPool.shared().release(driver);
+        }
+    }
+
+    @Benchmark
+    public WebElement homePageGetFAQQuestionButton(Home home) {
+        return new HomePage(home.driver).getFAQQuestionButton(3);
+    }
+
+    @Benchmark
+    public void orderPageFillOrderFormStepOne(OrderStepOne step) {
+        step.orderPage.fillOrderFormStepOne("Иван", "Иванов", "ул. Ленина, д. 1", "Лубянка", "89123456789");
+    }
+
+    @Benchmark
+    public void orderPageSelectScooterColor(OrderStepTwo step) {
+        step.orderPage.selectScooterColor("чёрный жемчуг");
+    }
+}
@@ -0,0 +1,252 @@
+package data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Ленивые переборы комбинаций значений из нескольких областей.
+ * Комбинация — массив номеров значений, по одному на каждую область ({@code sizes[i]} — размер i-й области).
+ * Строки вычисляются по мере обхода: в памяти не хранится ни одна строка, кроме текущей,
+ * а для попарного перебора — только таблица ещё не покрытых пар.
+ */
+public final class Combinations {
+
+    private Combinations() {
+    }
+
+    /**
+     * Полный перебор: все комбинации, последняя область меняется быстрее всех.
+     */
+    public static Iterable<int[]> cartesian(int[] sizes) {
+        return () -> new SampleIterator(sizes, 0, 1, total(sizes));
+    }
+
+    /**
+     * Случайная выборка без повторов заданного размера из полного перебора.
+     * Номера комбинаций обходятся шагом, взаимно простым с их общим числом, поэтому выборка
+     * не требует памяти под уже выданные строки. При одинаковом {@code seed} выборка одинакова.
+     */
+    public static Iterable<int[]> random(int[] sizes, long count, long seed) {
+        long total = total(sizes);
+        Random random = new Random(seed);
+        long start = total == 0 ? 0 : Math.floorMod(random.nextLong(), total);
+        long step = 1;
+        if (total > 2) {
+            do {
+                step = 1 + Math.floorMod(random.nextLong(), total - 1);
+            } while (gcd(step, total) != 1);
+        }
+        long size = Math.min(count, total);
+        long first = start;
+        long stride = step;
+        return () -> new SampleIterator(sizes, first, stride, size);
+    }
+
+    /**
+     * Попарный перебор: каждая пара значений любых двух областей встречается хотя бы в одной строке.
+     * Строки строятся жадно — каждая следующая покрывает как можно больше ещё не покрытых пар.
+     * {@code seed} задаёт порядок заполнения областей; при одинаковом значении набор одинаков.
+     */
+    public static Iterable<int[]> pairwise(int[] sizes, long seed) {
+        return () -> new PairwiseIterator(sizes, seed);
+    }
+
+    /**
+     * Возвращает число комбинаций полного перебора.
+     */
+    public static long total(int[] sizes) {
+        long total = 1;
+        for (int size : sizes) {
+            total = Math.multiplyExact(total, size);
+        }
+        return total;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Обходит номера комбинаций start, start + step, ... по модулю их общего числа
+     * и переводит номер в значения областей (смешанная система счисления).
+     */
+    private static final class SampleIterator implements Iterator<int[]> {
+        private final int[] sizes;
+        private final long total;
+        private final long step;
+        private final long count;
+        private long current;
+        private long produced;
+
+        SampleIterator(int[] sizes, long start, long step, long count) {
+            this.sizes = sizes.clone();
+            this.total = total(sizes);
+            this.step = step;
+            this.count = count;
+            this.current = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return produced < count;
+        }
+
+        @Override
+        public int[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int[] row = new int[sizes.length];
+            long rest = current;
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                row[i] = (int) (rest % sizes[i]);
+                rest /= sizes[i];
+            }
+            current = (current + step) % total;
+            produced++;
+            return row;
+        }
+    }
+
+    /**
+     * Жадный попарный перебор. Для каждой пары областей хранится таблица непокрытых пар значений.
+     */
+    private static final class PairwiseIterator implements Iterator<int[]> {
+        private final int[] sizes;
+        // uncovered[i][j][a * sizes[j] + b] — пара (значение a области i, значение b области j) ещё не покрыта, i < j
+        private final boolean[][][] uncovered;
+        private final Random random;
+        private int remaining;
+
+        PairwiseIterator(int[] sizes, long seed) {
+            this.sizes = sizes.clone();
+            this.random = new Random(seed);
+            int n = sizes.length;
+            uncovered = new boolean[n][n][];
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    uncovered[i][j] = new boolean[sizes[i] * sizes[j]];
+                    Arrays.fill(uncovered[i][j], true);
+                    remaining += uncovered[i][j].length;
+                }
+            }
+            if (n == 1) {
+                // Одна область: пар нет, но каждое значение должно встретиться
+                uncovered[0][0] = new boolean[sizes[0]];
+                Arrays.fill(uncovered[0][0], true);
+                remaining = sizes[0];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int n = sizes.length;
+            int[] row = new int[n];
+            Arrays.fill(row, -1);
+            if (n == 1) {
+                row[0] = firstUncovered(uncovered[0][0]);
+                uncovered[0][0][row[0]] = false;
+                remaining--;
+                return row;
+            }
+            // Начинаем строку с первой непокрытой пары
+            seedWithUncoveredPair(row);
+            // Остальные области заполняем в случайном (по seed) порядке значениями, покрывающими больше пар
+            for (int k : shuffledOrder(n)) {
+                if (row[k] < 0) {
+                    row[k] = bestValue(row, k);
+                }
+            }
+            markCovered(row);
+            return row;
+        }
+
+        private void seedWithUncoveredPair(int[] row) {
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    int index = firstUncovered(uncovered[i][j]);
+                    if (index >= 0) {
+                        row[i] = index / sizes[j];
+                        row[j] = index % sizes[j];
+                        return;
+                    }
+                }
+            }
+        }
+
+        private int bestValue(int[] row, int k) {
+            int best = 0;
+            int bestGain = -1;
+            // Начинаем перебор значений со случайного, чтобы при равенстве значения чередовались
+            int offset = random.nextInt(sizes[k]);
+            for (int step = 0; step < sizes[k]; step++) {
+                int value = (offset + step) % sizes[k];
+                int gain = 0;
+                for (int other = 0; other < sizes.length; other++) {
+                    if (other != k && row[other] >= 0 && isUncovered(k, value, other, row[other])) {
+                        gain++;
+                    }
+                }
+                if (gain > bestGain) {
+                    best = value;
+                    bestGain = gain;
+                }
+            }
+            return best;
+        }
+
+        private void markCovered(int[] row) {
+            for (int i = 0; i < row.length; i++) {
+                for (int j = i + 1; j < row.length; j++) {
+                    int index = row[i] * sizes[j] + row[j];
+                    if (uncovered[i][j][index]) {
+                        uncovered[i][j][index] = false;
+                        remaining--;
+                    }
+                }
+            }
+        }
+
+        private boolean isUncovered(int i, int a, int j, int b) {
+            return i < j ? uncovered[i][j][a * sizes[j] + b] : uncovered[j][i][b * sizes[i] + a];
+        }
+
+        private int[] shuffledOrder(int n) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            return order;
+        }
+
+        private static int firstUncovered(boolean[] table) {
+            for (int i = 0; i < table.length; i++) {
+                if (table[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
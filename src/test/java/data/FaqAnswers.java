@@ -0,0 +1,88 @@
+package data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Ожидаемые ответы FAQ из ресурса {@code faq/answers.tsv}.
+ * Файл читается построчно по мере обхода, поэтому список вопросов может расти
+ * без загрузки всех строк в память заранее.
+ */
+public final class FaqAnswers {
+
+    public static final String RESOURCE = "faq/answers.tsv";
+
+    private FaqAnswers() {
+    }
+
+    /**
+     * Возвращает параметры для параметризованного теста: {индекс вопроса, ожидаемый ответ}.
+     * Пустые строки и строки, начинающиеся с '#', пропускаются.
+     */
+    public static Iterable<Object[]> rows() {
+        return () -> new RowIterator(open());
+    }
+
+    private static BufferedReader open() {
+        InputStream in = FaqAnswers.class.getClassLoader().getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("Не найден ресурс " + RESOURCE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Итератор по строкам файла; закрывает файл, дойдя до конца.
+     */
+    private static final class RowIterator implements Iterator<Object[]> {
+        private final BufferedReader reader;
+        private Object[] next;
+
+        RowIterator(BufferedReader reader) {
+            this.reader = reader;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Object[] current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    int tab = line.indexOf('\t');
+                    if (tab < 0) {
+                        throw new IllegalStateException("Неверная строка в " + RESOURCE + ": " + line);
+                    }
+                    next = new Object[] {Integer.parseInt(line.substring(0, tab).trim()), line.substring(tab + 1).trim()};
+                    return;
+                }
+                next = null;
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package data;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import support.LocalScooterServer;
+
+/**
+ * Данные одного сценария заказа самоката: точка входа и значения полей обеих форм.
+ * Используется и UI-тестом заказа, и генератором HTTP-нагрузки.
+ */
+public final class OrderData {
+
+    // Варианты срока аренды в порядке выпадающего списка; номер варианта — это rentTime в API
+    public static final List<String> RENTAL_PERIODS = Arrays.asList(
+            "сутки", "двое суток", "трое суток", "четверо суток", "пятеро суток", "шестеро суток", "семеро суток");
+
+    public static final String BLACK = "чёрный жемчуг";
+    public static final String GREY = "серая безысходность";
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    public final String orderButtonLocation;
+    public final String firstName;
+    public final String lastName;
+    public final String address;
+    public final String metroStation;
+    public final String phone;
+    public final String deliveryDate;
+    public final String rentalPeriod;
+    // Один цвет, оба через запятую или пустая строка, если цвет не выбран
+    public final String scooterColor;
+    public final String comment;
+
+    public OrderData(String orderButtonLocation, String firstName, String lastName, String address,
+                     String metroStation, String phone, String deliveryDate, String rentalPeriod,
+                     String scooterColor, String comment) {
+        this.orderButtonLocation = orderButtonLocation;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.address = address;
+        this.metroStation = metroStation;
+        this.phone = phone;
+        this.deliveryDate = deliveryDate;
+        this.rentalPeriod = rentalPeriod;
+        this.scooterColor = scooterColor;
+        this.comment = comment;
+    }
+
+    /**
+     * Возвращает два базовых сценария заказа: через кнопку в шапке и через кнопку внизу страницы.
+     */
+    public static List<OrderData> defaults() {
+        // Формирование даты доставки на основе текущей даты с добавлением смещения
+        LocalDate date1 = LocalDate.now().plusDays(3);
+        LocalDate date2 = LocalDate.now().plusDays(5);
+
+        return Arrays.asList(
+                new OrderData("header", "Иван", "Иванов", "ул. Ленина, д. 1", "Лубянка", "89123456789",
+                        date1.format(DATE_FORMAT), "сутки", BLACK, "Комментарий теста 1"),
+                new OrderData("footer", "Петр", "Петров", "ул. Пушкина, д. 2", "Пушкинская", "89876543210",
+                        date2.format(DATE_FORMAT), "двое суток", GREY, "Комментарий теста 2"));
+    }
+
+    /**
+     * Возвращает параметры в порядке аргументов конструктора OrderTest.
+     */
+    public Object[] toParameters() {
+        return new Object[] {orderButtonLocation, firstName, lastName, address, metroStation, phone,
+                deliveryDate, rentalPeriod, scooterColor, comment};
+    }
+
+    /**
+     * Возвращает срок аренды в сутках (поле rentTime в API).
+     */
+    public int rentTime() {
+        return RENTAL_PERIODS.indexOf(rentalPeriod) + 1;
+    }
+
+    /**
+     * Возвращает коды цветов для API (BLACK, GREY); пустой список, если цвет не выбран.
+     */
+    public List<String> colorCodes() {
+        List<String> codes = new ArrayList<>();
+        if (scooterColor.contains(BLACK)) {
+            codes.add("BLACK");
+        }
+        if (scooterColor.contains(GREY)) {
+            codes.add("GREY");
+        }
+        return codes;
+    }
+
+    /**
+     * Возвращает номер станции метро в API: порядковый номер в списке станций приложения, начиная с 1.
+     *
+     * @throws IllegalArgumentException если станции нет в списке.
+     */
+    public int metroStationNumber() {
+        int index = Stations.NAMES.indexOf(metroStation);
+        if (index < 0) {
+            throw new IllegalArgumentException("Неизвестная станция метро: " + metroStation);
+        }
+        return index + 1;
+    }
+
+    /**
+     * Возвращает тело запроса POST /api/v1/orders по контракту API приложения:
+     * станция — номером ({@link #metroStationNumber()}), дата доставки — в формате ISO (yyyy-MM-dd).
+     * Подходит и для стенда, и для встроенного {@link LocalScooterServer}.
+     */
+    public Map<String, Object> toApiRequest() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", firstName);
+        body.put("lastName", lastName);
+        body.put("address", address);
+        body.put("metroStation", metroStationNumber());
+        body.put("phone", phone);
+        body.put("rentTime", rentTime());
+        body.put("deliveryDate", LocalDate.parse(deliveryDate, DATE_FORMAT).toString());
+        body.put("comment", comment);
+        body.put("color", colorCodes());
+        return body;
+    }
+
+    // Список станций читается из ресурса один раз, при первом обращении
+    private static final class Stations {
+        private static final List<String> NAMES = LocalScooterServer.stationNames();
+    }
+
+    @Override
+    public String toString() {
+        return String.join("|", orderButtonLocation, firstName, lastName, address, metroStation, phone,
+                deliveryDate, rentalPeriod, scooterColor, comment);
+    }
+}
@@ -0,0 +1,202 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import support.LocalScooterServer;
+import support.TestConfig;
+
+/**
+ * Генератор сценариев заказа из объявленных областей значений:
+ * точка входа (шапка или подвал), станция метро, срок аренды, цвет (ни одного, один или оба)
+ * и смещение даты доставки от сегодняшнего дня. Имя, адрес, телефон и комментарий
+ * не влияют на сочетания и подставляются по номеру сценария.
+ * <p>
+ * Режим задаётся свойством {@code order.data}:
+ * <ul>
+ *     <li>{@code defaults} — два базовых сценария {@link OrderData#defaults()} (по умолчанию);</li>
+ *     <li>{@code cartesian} — полный перебор, при необходимости ограниченный {@code order.data.limit};</li>
+ *     <li>{@code pairwise} — попарный перебор, компактный набор для каждого коммита;</li>
+ *     <li>{@code random} — случайная выборка из полного перебора размером {@code order.data.limit} (100).</li>
+ * </ul>
+ * Дополнительно: {@code order.data.seed} (42) — зерно случайных режимов,
+ * {@code order.data.stations} — сколько станций взять из списка (0 — все),
+ * {@code order.data.date.offsets} — смещения даты доставки в днях (1,2,3,5,7).
+ * <p>
+ * Сценарии создаются по мере обхода. Например, ночной прогон на ~10 000 сочетаний:
+ * {@code -Dorder.data=cartesian}; прогон на каждый коммит: {@code -Dorder.data=pairwise -Dorder.data.stations=5}.
+ */
+public final class OrderDataGenerator {
+
+    private static final List<String> ENTRY_POINTS = Arrays.asList("header", "footer");
+    private static final List<String> COLORS = Arrays.asList(
+            "", OrderData.BLACK, OrderData.GREY, OrderData.BLACK + ", " + OrderData.GREY);
+
+    private static final List<String> FIRST_NAMES = Arrays.asList("Иван", "Петр", "Анна", "Мария", "Олег");
+    private static final List<String> LAST_NAMES = Arrays.asList("Иванов", "Петров", "Смирнова", "Кузнецова", "Соколов");
+    private static final List<String> STREETS = Arrays.asList("ул. Ленина", "ул. Пушкина", "пр. Мира", "ул. Гагарина");
+
+    private final List<String> stations;
+    private final List<Integer> dateOffsets;
+    private final LocalDate today;
+
+    /**
+     * Конструктор генератора.
+     *
+     * @param stations    Станции метро.
+     * @param dateOffsets Смещения даты доставки в днях.
+     * @param today       Дата, от которой отсчитываются смещения.
+     */
+    public OrderDataGenerator(List<String> stations, List<Integer> dateOffsets, LocalDate today) {
+        this.stations = stations;
+        this.dateOffsets = dateOffsets;
+        this.today = today;
+    }
+
+    /**
+     * Возвращает генератор с областями значений из настроек прогона.
+     */
+    public static OrderDataGenerator fromConfig() {
+        List<String> offsets = Arrays.asList(TestConfig.get("order.data.date.offsets", "1,2,3,5,7").split(","));
+        List<Integer> dateOffsets = new ArrayList<>();
+        for (String offset : offsets) {
+            dateOffsets.add(Integer.parseInt(offset.trim()));
+        }
+        return new OrderDataGenerator(pickStations(LocalScooterServer.stationNames(),
+                TestConfig.getInt("order.data.stations", 0)), dateOffsets, LocalDate.now());
+    }
+
+    /**
+     * Возвращает сценарии для режима из свойства {@code order.data}.
+     */
+    public static Iterable<OrderData> configured() {
+        String mode = TestConfig.get("order.data", "defaults").toLowerCase(Locale.ROOT);
+        long seed = TestConfig.getInt("order.data.seed", 42);
+        if (mode.equals("defaults")) {
+            return OrderData.defaults();
+        }
+        OrderDataGenerator generator = fromConfig();
+        switch (mode) {
+            case "cartesian":
+                long limit = TestConfig.getInt("order.data.limit", 0);
+                return generator.cartesian(limit > 0 ? limit : Long.MAX_VALUE);
+            case "pairwise":
+                return generator.pairwise(seed);
+            case "random":
+                return generator.random(TestConfig.getInt("order.data.limit", 100), seed);
+            default:
+                throw new IllegalArgumentException("Неизвестный режим order.data: " + mode
+                        + " (ожидается defaults, cartesian, pairwise или random)");
+        }
+    }
+
+    /**
+     * Возвращает сценарии режима {@code order.data} в виде параметров конструктора OrderTest.
+     */
+    public static Iterable<Object[]> parameters() {
+        Iterable<OrderData> scenarios = configured();
+        return () -> {
+            Iterator<OrderData> source = scenarios.iterator();
+            return new Iterator<Object[]>() {
+                @Override
+                public boolean hasNext() {
+                    return source.hasNext();
+                }
+
+                @Override
+                public Object[] next() {
+                    return source.next().toParameters();
+                }
+            };
+        };
+    }
+
+    /**
+     * Полный перебор (не больше {@code limit} сценариев).
+     */
+    public Iterable<OrderData> cartesian(long limit) {
+        return map(Combinations.cartesian(sizes()), limit);
+    }
+
+    /**
+     * Попарный перебор.
+     */
+    public Iterable<OrderData> pairwise(long seed) {
+        return map(Combinations.pairwise(sizes(), seed), Long.MAX_VALUE);
+    }
+
+    /**
+     * Случайная выборка без повторов.
+     */
+    public Iterable<OrderData> random(long count, long seed) {
+        return map(Combinations.random(sizes(), count, seed), Long.MAX_VALUE);
+    }
+
+    /**
+     * Возвращает размеры областей значений в порядке: точка входа, станция, срок аренды, цвет, дата.
+     */
+    public int[] sizes() {
+        return new int[] {ENTRY_POINTS.size(), stations.size(), OrderData.RENTAL_PERIODS.size(),
+                COLORS.size(), dateOffsets.size()};
+    }
+
+    /**
+     * Собирает сценарий по номерам значений областей и порядковому номеру сценария.
+     */
+    public OrderData scenario(int[] values, long number) {
+        int n = (int) (number % 1_000_000);
+        return new OrderData(
+                ENTRY_POINTS.get(values[0]),
+                FIRST_NAMES.get(n % FIRST_NAMES.size()),
+                LAST_NAMES.get(n % LAST_NAMES.size()),
+                STREETS.get(n % STREETS.size()) + ", д. " + (n % 99 + 1),
+                stations.get(values[1]),
+                String.format("89%09d", n),
+                today.plusDays(dateOffsets.get(values[4])).format(OrderData.DATE_FORMAT),
+                OrderData.RENTAL_PERIODS.get(values[2]),
+                COLORS.get(values[3]),
+                "Сценарий " + (n + 1));
+    }
+
+    private Iterable<OrderData> map(Iterable<int[]> combinations, long limit) {
+        return () -> {
+            Iterator<int[]> source = combinations.iterator();
+            return new Iterator<OrderData>() {
+                private long number;
+
+                @Override
+                public boolean hasNext() {
+                    return number < limit && source.hasNext();
+                }
+
+                @Override
+                public OrderData next() {
+                    if (number >= limit) {
+                        throw new NoSuchElementException();
+                    }
+                    return scenario(source.next(), number++);
+                }
+            };
+        };
+    }
+
+    /**
+     * Берёт {@code count} станций, равномерно распределённых по списку (0 — все станции).
+     */
+    static List<String> pickStations(List<String> all, int count) {
+        if (count <= 0 || count >= all.size()) {
+            return Collections.unmodifiableList(all);
+        }
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            picked.add(all.get(i * all.size() / count));
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,210 @@
+package load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import data.OrderData;
+import org.openqa.selenium.json.Json;
+import support.LatencyRecorder;
+import support.LocalScooterServer;
+import support.TestConfig;
+
+/**
+ * Генератор нагрузки на создание заказа без браузера.
+ * Повторяет сценарий OrderTest.testOrderFlow на уровне HTTP: отправляет POST /api/v1/orders
+ * с теми же данными заказа ({@link OrderData}), что и форма, в контракте API приложения
+ * (станция — номером, дата — в ISO, см. {@link OrderData#toApiRequest()}), поэтому подходит и для стенда.
+ * <p>
+ * Модель нагрузки открытая: новые «пользователи» приходят с заданной частотой независимо от того,
+ * успел ли ответить сервер. Запросы асинхронные (HttpClient.sendAsync), поэтому тысячи одновременных
+ * пользователей не требуют тысяч потоков; число запросов «в полёте» ограничено {@code load.maxInFlight}.
+ * <p>
+ * Настройки (системные свойства):
+ * <ul>
+ *     <li>{@code load.target} — local (встроенный {@link LocalScooterServer}, по умолчанию) или адрес стенда;</li>
+ *     <li>{@code load.rate} — новых пользователей в секунду (200);</li>
+ *     <li>{@code load.duration.s} — длительность подачи нагрузки в секундах (30);</li>
+ *     <li>{@code load.maxInFlight} — максимум одновременных запросов (5000);</li>
+ *     <li>{@code load.timeout.ms} — таймаут одного запроса (10000).</li>
+ * </ul>
+ * Запуск: {@code mvn -Pload verify -Dload.rate=1000}.
+ */
+public final class OrderLoadGenerator {
+
+    private final URI ordersUri;
+    private final int ratePerSecond;
+    private final int durationSeconds;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final List<OrderData> scenarios;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Json json = new Json();
+
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong httpErrors = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OrderLoadGenerator(String baseUrl, int ratePerSecond, int durationSeconds, int maxInFlight,
+                              Duration timeout, List<OrderData> scenarios) {
+        this.ordersUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/").resolve("api/v1/orders");
+        this.ratePerSecond = ratePerSecond;
+        this.durationSeconds = durationSeconds;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+        this.scenarios = scenarios;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = TestConfig.get("load.target", "local");
+        boolean local = "local".equalsIgnoreCase(target);
+        String baseUrl = local ? LocalScooterServer.shared().baseUrl() : target;
+
+        OrderLoadGenerator generator = new OrderLoadGenerator(baseUrl,
+                TestConfig.getInt("load.rate", 200),
+                TestConfig.getInt("load.duration.s", 30),
+                TestConfig.getInt("load.maxInFlight", 5000),
+                Duration.ofMillis(TestConfig.getInt("load.timeout.ms", 10_000)),
+                OrderData.defaults());
+        Map<String, Object> report = generator.run();
+        if (local) {
+            // Поток диспетчера HttpServer не фоновый — без остановки JVM не завершится
+            LocalScooterServer.shared().stop();
+        }
+
+        report.forEach((key, value) -> System.out.println("[Load] " + key + " = " + value));
+        Path file = TestConfig.outputDir().resolve("load-report.json");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        System.out.println("[Load] отчёт записан в " + file);
+    }
+
+    /**
+     * Подаёт нагрузку, дожидается завершения всех запросов и возвращает отчёт.
+     */
+    public Map<String, Object> run() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long total = (long) ratePerSecond * durationSeconds;
+        CountDownLatch arrivals = new CountDownLatch(1);
+        ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-arrivals");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long startNanos = System.nanoTime();
+        // Раз в миллисекунду запускаем всех пользователей, время прихода которых уже наступило
+        clock.scheduleAtFixedRate(() -> {
+            long due = Math.min(total, (System.nanoTime() - startNanos) * ratePerSecond / 1_000_000_000L);
+            while (started.get() < due) {
+                long user = started.getAndIncrement();
+                if (inFlight.tryAcquire()) {
+                    try {
+                        sendOrder(user, inFlight);
+                    } catch (RuntimeException e) {
+                        // Исключение остановило бы задачу планировщика без следа, а разрешение осталось бы занятым
+                        failures.incrementAndGet();
+                        inFlight.release();
+                    }
+                } else {
+                    // Сервер не успевает: генератор упёрся в лимит одновременных запросов
+                    dropped.incrementAndGet();
+                }
+            }
+            if (started.get() >= total) {
+                arrivals.countDown();
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        if (!arrivals.await(durationSeconds * 1000L + timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.err.println("[Load] подача нагрузки не завершилась вовремя: запущено " + started.get() + " из " + total);
+        }
+        clock.shutdownNow();
+        // Ждём ответы на все отправленные запросы: каждый завершится не позже своего таймаута
+        if (!inFlight.tryAcquire(maxInFlight, timeout.toMillis() * 2, TimeUnit.MILLISECONDS)) {
+            System.err.println("[Load] не дождались ответов на " + (maxInFlight - inFlight.availablePermits()) + " запросов");
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return report(elapsedNanos);
+    }
+
+    private void sendOrder(long user, Semaphore inFlight) {
+        OrderData order = scenarios.get((int) (user % scenarios.size()));
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(order.toApiRequest())))
+                .build();
+        long sentNanos = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latencies.add(System.nanoTime() - sentNanos);
+                    if (error != null) {
+                        failures.incrementAndGet();
+                    } else if (response.statusCode() / 100 == 2) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        httpErrors.incrementAndGet();
+                    }
+                    inFlight.release();
+                });
+    }
+
+    private Map<String, Object> report(long elapsedNanos) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long completed = sorted.size();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long attempted = started.get();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("target", ordersUri.toString());
+        report.put("ratePerSecond", ratePerSecond);
+        report.put("durationSeconds", durationSeconds);
+        report.put("attempted", attempted);
+        report.put("completed", completed);
+        report.put("succeeded", succeeded.get());
+        report.put("httpErrors", httpErrors.get());
+        report.put("failures", failures.get());
+        report.put("dropped", dropped.get());
+        report.put("throughputPerSecond", round(succeeded.get() / seconds));
+        report.put("errorRate", attempted == 0 ? 0.0
+                : round((double) (httpErrors.get() + failures.get() + dropped.get()) / attempted));
+        report.put("latencyP50Ms", millis(LatencyRecorder.percentile(sorted, 50)));
+        report.put("latencyP95Ms", millis(LatencyRecorder.percentile(sorted, 95)));
+        report.put("latencyP99Ms", millis(LatencyRecorder.percentile(sorted, 99)));
+        report.put("latencyMaxMs", sorted.isEmpty() ? 0.0 : millis(sorted.get(sorted.size() - 1)));
+        return report;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
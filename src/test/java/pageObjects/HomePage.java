@@ -1,9 +1,14 @@
 package pageObjects;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.JavascriptExecutor;
+import support.ElementCache;
 
 /**
  * Класс, представляющий главную страницу приложения.
@@ -13,7 +18,29 @@ import org.openqa.selenium.JavascriptExecutor;
  * - работу с блоком FAQ.
  */
 public class HomePage {
-    private WebDriver driver;
+
+    // Раскрывает вопросы FAQ по очереди и собирает тексты ответов.
+    // После каждого клика ждёт следующей задачи, чтобы React успел отрисовать панель.
+    // Ответ берётся только у видимой панели (как getText()), для скрытой возвращается null.
+    private static final String READ_ALL_FAQ_SCRIPT =
+            "var done = arguments[arguments.length - 1], answers = {};"
+            + "var headings = Array.prototype.slice.call(document.querySelectorAll('[id^=\"accordion__heading-\"]'));"
+            + "(function next() {"
+            + "  var heading = headings.shift();"
+            + "  if (!heading) { done(answers); return; }"
+            + "  var index = heading.id.substring('accordion__heading-'.length);"
+            + "  heading.click();"
+            + "  setTimeout(function () {"
+            + "    var panel = document.getElementById('accordion__panel-' + index);"
+            + "    var shown = panel && !panel.hidden && panel.offsetParent !== null;"
+            + "    answers[index] = shown ? panel.innerText.replace(/\\s+/g, ' ').trim() : null;"
+            + "    next();"
+            + "  }, 0);"
+            + "})();";
+
+    private final WebDriver driver;
+    // Кэш найденных элементов страницы
+    private final ElementCache elements;
 
     // Локатор кнопки для принятия куки
     private By cookieAcceptButton = By.id("rcc-confirm-button");
@@ -31,6 +58,7 @@ public class HomePage {
      */
     public HomePage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -40,7 +68,7 @@ public class HomePage {
      * @return WebElement кнопки вопроса.
      */
     public WebElement getFAQQuestionButton(int index) {
-        return driver.findElement(By.id("accordion__heading-" + index));
+        return elements.find(By.id("accordion__heading-" + index));
     }
 
     /**
@@ -50,7 +78,28 @@ public class HomePage {
      * @return WebElement панели с ответом.
      */
     public WebElement getFAQAnswerPanel(int index) {
-        return driver.findElement(By.id("accordion__panel-" + index));
+        return elements.find(By.id("accordion__panel-" + index));
+    }
+
+    /**
+     * Раскрывает все вопросы FAQ и возвращает тексты ответов за один запрос к браузеру.
+     *
+     * @return Тексты ответов по индексу вопроса; null, если панель ответа не найдена или не показана.
+     */
+    public Map<Integer, String> readAllFAQAnswers() {
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(READ_ALL_FAQ_SCRIPT);
+        Map<Integer, String> answers = new HashMap<>();
+        ((Map<?, ?>) result).forEach((index, text) ->
+                answers.put(Integer.parseInt(String.valueOf(index)), text == null ? null : String.valueOf(text)));
+        return answers;
+    }
+
+    /**
+     * Проверяет, показан ли баннер с предложением принять куки.
+     */
+    public boolean isCookieBannerShown() {
+        List<WebElement> buttons = driver.findElements(cookieAcceptButton);
+        return !buttons.isEmpty() && buttons.get(0).isDisplayed();
     }
 
     /**
@@ -58,14 +107,16 @@ public class HomePage {
      * Находит кнопку принятия куки и кликает по ней.
      */
     public void acceptCookies() {
-        driver.findElement(cookieAcceptButton).click();
+        elements.click(cookieAcceptButton);
     }
 
     /**
      * Метод для клика по кнопке «Заказать» в шапке страницы.
      */
     public void clickHeaderOrderButton() {
-        driver.findElement(headerOrderButton).click();
+        elements.click(headerOrderButton);
+        // После клика открывается страница заказа — найденные элементы больше не нужны
+        elements.invalidate();
     }
 
     /**
@@ -73,9 +124,11 @@ public class HomePage {
      * Перед кликом осуществляется прокрутка страницы до видимости кнопки.
      */
     public void clickFooterOrderButton() {
-        WebElement footerButton = driver.findElement(footerOrderButton);
-        // Прокручиваем элемент в область видимости
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", footerButton);
-        footerButton.click();
+        elements.with(footerOrderButton, footerButton -> {
+            // Прокручиваем элемент в область видимости
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", footerButton);
+            footerButton.click();
+        });
+        elements.invalidate();
     }
 }
\ No newline at end of file
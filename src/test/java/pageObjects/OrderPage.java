@@ -1,38 +1,81 @@
 package pageObjects;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.Keys;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import support.ElementCache;
+import support.TestConfig;
+import support.Waits;
 
 /**
  * Класс для работы со страницей оформления заказа.
  * Содержит методы для заполнения форм и взаимодействия с элементами страницы.
+ * Поля формы заполняются в одном из режимов {@link FillMode}.
  */
 public class OrderPage {
-    private WebDriver driver;
-    // Явное ожидание с таймаутом 10 секунд
-    private WebDriverWait wait;
+
+    /**
+     * Режим заполнения формы.
+     */
+    public enum FillMode {
+        // Посимвольный ввод через sendKeys — как у пользователя (по умолчанию)
+        KEYSTROKES,
+        // Текстовые поля шага заполняются одним скриптом; метро и календарь — по-прежнему нажатиями клавиш
+        BATCHED
+    }
+
+    // Устанавливает значения полей через нативный сеттер и генерирует события input и change,
+    // чтобы React-форма обновила своё состояние. Возвращает подсказки полей, которые не найдены.
+    private static final String BATCH_FILL_SCRIPT =
+            "var values = arguments[0], missing = [];"
+            + "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;"
+            + "Object.keys(values).forEach(function (placeholder) {"
+            + "  var input = document.querySelector('input[placeholder=\"' + placeholder + '\"]');"
+            + "  if (!input) { missing.push(placeholder); return; }"
+            + "  setter.call(input, values[placeholder]);"
+            + "  input.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  input.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "});"
+            + "return missing;";
+
+    private final WebDriver driver;
+    private final FillMode fillMode;
+    // Явные ожидания с адаптивным опросом
+    private final Waits wait;
+    // Кэш найденных элементов: поля формы ищутся в браузере один раз на шаг
+    private final ElementCache elements;
 
     // ******************** ПЕРВАЯ ФОРМА (ЛИЧНЫЕ ДАННЫЕ) ********************
 
+    // Подсказки текстовых полей: по ним поля находят и локаторы, и пакетное заполнение
+    private static final String FIRST_NAME_PLACEHOLDER = "* Имя";
+    private static final String LAST_NAME_PLACEHOLDER = "* Фамилия";
+    private static final String ADDRESS_PLACEHOLDER = "* Адрес: куда привезти заказ";
+    private static final String PHONE_PLACEHOLDER = "* Телефон: на него позвонит курьер";
+    private static final String COMMENT_PLACEHOLDER = "Комментарий для курьера";
+
     // Поле "Имя"
-    private By firstNameField = By.xpath("//input[@placeholder='* Имя']");
+    private By firstNameField = By.xpath("//input[@placeholder='" + FIRST_NAME_PLACEHOLDER + "']");
 
     // Поле "Фамилия"
-    private By lastNameField = By.xpath("//input[@placeholder='* Фамилия']");
+    private By lastNameField = By.xpath("//input[@placeholder='" + LAST_NAME_PLACEHOLDER + "']");
 
     // Поле "Адрес: куда привезти заказ"
-    private By addressField = By.xpath("//input[@placeholder='* Адрес: куда привезти заказ']");
+    private By addressField = By.xpath("//input[@placeholder='" + ADDRESS_PLACEHOLDER + "']");
 
     // Выпадающий список "Станция метро"
     private By metroStationInput = By.xpath("//input[@placeholder='* Станция метро']");
 
     // Поле "Телефон: на него позвонит курьер"
-    private By phoneField = By.xpath("//input[@placeholder='* Телефон: на него позвонит курьер']");
+    private By phoneField = By.xpath("//input[@placeholder='" + PHONE_PLACEHOLDER + "']");
 
     // Кнопка "Далее"
     private By nextButton = By.xpath("//button[text()='Далее']");
@@ -50,7 +93,7 @@ public class OrderPage {
     private By greyCheckbox = By.id("grey");
 
     // Поле "Комментарий для курьера"
-    private By commentField = By.xpath("//input[@placeholder='Комментарий для курьера']");
+    private By commentField = By.xpath("//input[@placeholder='" + COMMENT_PLACEHOLDER + "']");
 
     // Кнопка "Заказать" (на второй форме)
     private By orderButton = By.xpath("//*[@id=\"root\"]/div/div[2]/div[3]/button[2]");
@@ -61,52 +104,72 @@ public class OrderPage {
 
     /**
      * Конструктор страницы оформления заказа.
+     * Режим заполнения берётся из свойства {@code order.fill.mode} (keystrokes или batched).
      */
     public OrderPage(WebDriver driver) {
+        this(driver, FillMode.valueOf(TestConfig.get("order.fill.mode", "keystrokes").toUpperCase()));
+    }
+
+    /**
+     * Конструктор страницы оформления заказа с явно заданным режимом заполнения.
+     */
+    public OrderPage(WebDriver driver, FillMode fillMode) {
         this.driver = driver;
-        // Инициализируем WebDriverWait с таймаутом 10 секунд
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.fillMode = fillMode;
+        // Инициализируем общий механизм ожиданий
+        this.wait = Waits.on(driver);
+        this.elements = new ElementCache(driver);
     }
 
     /**
      * Метод для заполнения первой формы заказа (личные данные).
      */
     public void fillOrderFormStepOne(String firstName, String lastName, String address, String metroStation, String phone) {
-        // Вводим имя
-        driver.findElement(firstNameField).sendKeys(firstName);
-        // Вводим фамилию
-        driver.findElement(lastNameField).sendKeys(lastName);
-        // Вводим адрес доставки
-        driver.findElement(addressField).sendKeys(address);
+        if (fillMode == FillMode.BATCHED) {
+            // Имя, фамилия, адрес и телефон — одним запросом к браузеру
+            Map<String, String> values = new LinkedHashMap<>();
+            values.put(FIRST_NAME_PLACEHOLDER, firstName);
+            values.put(LAST_NAME_PLACEHOLDER, lastName);
+            values.put(ADDRESS_PLACEHOLDER, address);
+            values.put(PHONE_PLACEHOLDER, phone);
+            fillInBatch(values);
+        } else {
+            // Вводим имя
+            elements.sendKeys(firstNameField, firstName);
+            // Вводим фамилию
+            elements.sendKeys(lastNameField, lastName);
+            // Вводим адрес доставки
+            elements.sendKeys(addressField, address);
+        }
 
         // Работа с выпадающим списком "Станция метро"
-        WebElement metroInput = driver.findElement(metroStationInput);
-        metroInput.click(); // Открываем выпадающий список
-
-        // Ожидаем, что поле для ввода будет кликабельно
-
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        elements.click(metroStationInput); // Открываем выпадающий список
 
-        wait.until(ExpectedConditions.elementToBeClickable(metroStationInput));
+        // Вместо фиксированной паузы ждём, пока с сервера придёт список станций и в нём появится нужная,
+        // а поле для ввода станет кликабельным
+        By stationOption = metroStationOption(metroStation);
+        wait.until(ExpectedConditions.presenceOfElementLocated(stationOption));
+        waitClickable(metroStationInput);
 
-        // Вводим название станции метро
-        metroInput.sendKeys(metroStation);
+        // Вводим название станции метро и ждём, пока отфильтрованный вариант отрисуется
+        elements.sendKeys(metroStationInput, metroStation);
+        wait.until(ExpectedConditions.visibilityOfElementLocated(stationOption));
         // Выбираем нужный вариант через нажатие стрелки вниз и Enter
-        metroInput.sendKeys(Keys.ARROW_DOWN, Keys.ENTER);
+        elements.sendKeys(metroStationInput, Keys.ARROW_DOWN, Keys.ENTER);
 
-        // Вводим номер телефона
-        driver.findElement(phoneField).sendKeys(phone);
+        if (fillMode == FillMode.KEYSTROKES) {
+            // Вводим номер телефона
+            elements.sendKeys(phoneField, phone);
+        }
     }
 
     /**
      * Метод для нажатия кнопки "Далее" на первой форме.
      */
     public void clickNextButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(nextButton)).click();
+        waitClickable(nextButton).click();
+        // Форма перерисовывается под второй шаг — элементы первого шага больше не нужны
+        elements.invalidate();
     }
 
     /**
@@ -114,32 +177,40 @@ public class OrderPage {
      */
     public void fillOrderFormStepTwo(String deliveryDate, String rentalPeriod, String scooterColor, String comment) {
         // Вводим дату доставки
-        WebElement deliveryField = driver.findElement(deliveryDateField);
-        deliveryField.sendKeys(deliveryDate);
+        elements.sendKeys(deliveryDateField, deliveryDate);
         // Нажимаем ESCAPE, чтобы скрыть всплывающее окно календаря
-        deliveryField.sendKeys(Keys.ESCAPE);
+        elements.sendKeys(deliveryDateField, Keys.ESCAPE);
 
         // Выбираем срок аренды: кликаем по выпадающему списку
-        wait.until(ExpectedConditions.elementToBeClickable(rentalPeriodDropdown)).click();
+        waitClickable(rentalPeriodDropdown).click();
         // Определяем локатор для нужного варианта срока аренды по его тексту
         By rentalPeriodOption = By.xpath("//div[@class='Dropdown-menu']/div[text()='" + rentalPeriod + "']");
         // Ждём, пока нужный вариант станет кликабелен, и кликаем по нему
-        wait.until(ExpectedConditions.elementToBeClickable(rentalPeriodOption)).click();
+        waitClickable(rentalPeriodOption).click();
 
         // Выбор цвета самоката
         selectScooterColor(scooterColor);
         // Ввод комментария для курьера
-        driver.findElement(commentField).sendKeys(comment);
+        if (fillMode == FillMode.BATCHED) {
+            Map<String, String> values = new LinkedHashMap<>();
+            values.put(COMMENT_PLACEHOLDER, comment);
+            fillInBatch(values);
+        } else {
+            elements.sendKeys(commentField, comment);
+        }
     }
 
     /**
      * Метод для выбора цвета самоката через чекбоксы.
+     * Можно выбрать оба цвета, перечислив их через запятую, или ни одного (пустая строка).
      */
     public void selectScooterColor(String color) {
-        if (color.equalsIgnoreCase("чёрный жемчуг")) {
-            wait.until(ExpectedConditions.elementToBeClickable(blackCheckbox)).click();
-        } else if (color.equalsIgnoreCase("серая безысходность")) {
-            wait.until(ExpectedConditions.elementToBeClickable(greyCheckbox)).click();
+        String colors = color.toLowerCase();
+        if (colors.contains("чёрный жемчуг")) {
+            waitClickable(blackCheckbox).click();
+        }
+        if (colors.contains("серая безысходность")) {
+            waitClickable(greyCheckbox).click();
         }
     }
 
@@ -147,9 +218,9 @@ public class OrderPage {
      * Метод для нажатия кнопки "Заказать" на второй форме, а затем для подтверждения заказа в модальном окне.
      */
     public void clickOrderButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(orderButton)).click();
+        waitClickable(orderButton).click();
         // Ожидаем появления модального окна и нажимаем кнопку "Да"
-        wait.until(ExpectedConditions.elementToBeClickable(confirmOrderButton)).click();
+        waitClickable(confirmOrderButton).click();
     }
 
     /**
@@ -167,4 +238,46 @@ public class OrderPage {
             return false;
         }
     }
+
+    /**
+     * Заполняет текстовые поля одним вызовом скрипта.
+     *
+     * @param values Значения полей по их подсказкам (placeholder).
+     */
+    private void fillInBatch(Map<String, String> values) {
+        @SuppressWarnings("unchecked")
+        List<String> missing = (List<String>) ((JavascriptExecutor) driver).executeScript(BATCH_FILL_SCRIPT, values);
+        if (missing != null && !missing.isEmpty()) {
+            throw new NoSuchElementException("Не найдены поля формы: " + missing);
+        }
+    }
+
+    /**
+     * Ждёт, пока элемент станет кликабельным, и сохраняет его в кэше.
+     */
+    private WebElement waitClickable(By locator) {
+        return elements.put(locator, wait.until(ExpectedConditions.elementToBeClickable(locator)));
+    }
+
+    /**
+     * Локатор варианта выпадающего списка "Станция метро" с заданным названием.
+     * Название сравнивается со всем текстом варианта: в приложении оно лежит во вложенном элементе кнопки.
+     */
+    private static By metroStationOption(String metroStation) {
+        return By.xpath("//button[contains(@class, 'select-search__option')"
+                + " and contains(normalize-space(.), " + xpathLiteral(metroStation) + ")]");
+    }
+
+    /**
+     * Записывает строку литералом XPath; строку с обоими видами кавычек собирает через concat().
+     */
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package shard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import support.TestConfig;
+
+/**
+ * Локальный запуск тестов несколькими JVM-шардами на одной машине.
+ * Каждый шард — отдельный процесс {@code JUnitCore} с тем же classpath и свойствами
+ * {@code shard.index}/{@code shard.count}; разбиение случаев выполняет {@link support.Sharding}.
+ * Вывод шарда пишется в {@code target/run/shard-<номер>.log}, отчёты — в {@code target/run/shard-<номер>/}.
+ * Перед запуском отчёты и журналы прошлого прогона удаляются; после завершения всех шардов
+ * отчёты объединяются {@link ShardReportMerger}.
+ * <p>
+ * Аргументы: {@code <число шардов> [тестовые классы...]} (по умолчанию FAQTest и OrderTest).
+ * Системные свойства запускающей JVM (кроме стандартных) передаются в каждый шард.
+ * Запуск: {@code mvn -Pshard verify -Dshards=4}.
+ * В CI вместо этого класса каждый контейнер запускает свою часть сам:
+ * {@code mvn test -Dshard.index=1 -Dshard.count=4}, после чего отчёты собираются {@link ShardReportMerger}.
+ */
+public final class ShardLauncher {
+
+    private static final List<String> DEFAULT_CLASSES = Arrays.asList("tests.FAQTest", "tests.OrderTest");
+    // Свойства JVM, которые не имеет смысла передавать в дочерние процессы
+    private static final List<String> JVM_PREFIXES = Arrays.asList(
+            "java.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "native.", "awt.",
+            "stdout.", "stderr.", "classworlds.", "maven.", "library.", "shard.");
+
+    private ShardLauncher() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Использование: ShardLauncher <число шардов> [тестовые классы...]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        List<String> classes = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : DEFAULT_CLASSES;
+        Path root = Paths.get(TestConfig.get("run.output.dir", "target/run"));
+        Files.createDirectories(root);
+        // Отчёты прошлого прогона (в том числе с другим числом шардов) не должны попасть в объединение
+        try (Stream<Path> children = Files.list(root)) {
+            List<Path> stale = children
+                    .filter(path -> path.getFileName().toString().matches("shard-\\d+(\\.log)?|merged"))
+                    .collect(Collectors.toList());
+            for (Path each : stale) {
+                delete(each);
+            }
+        }
+
+        List<Process> shards = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.addAll(forwardedProperties());
+            command.add("-Dshard.index=" + i);
+            command.add("-Dshard.count=" + count);
+            command.add("org.junit.runner.JUnitCore");
+            command.addAll(classes);
+            File log = root.resolve("shard-" + i + ".log").toFile();
+            shards.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start());
+            System.out.println("[Shard] shard " + i + "/" + count + " запущен, вывод в " + log);
+        }
+
+        boolean failed = false;
+        for (int i = 0; i < count; i++) {
+            int exit = shards.get(i).waitFor();
+            System.out.println("[Shard] shard " + i + "/" + count + " завершён с кодом " + exit);
+            failed |= exit != 0;
+        }
+        System.out.println("[Shard] все шарды завершены за " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        ShardReportMerger.merge(root, count);
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Удаляет файл или каталог со всем содержимым, если он есть.
+     */
+    static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path each : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(each);
+            }
+        }
+    }
+
+    /**
+     * Возвращает пользовательские системные свойства в виде аргументов {@code -Dkey=value}.
+     */
+    private static List<String> forwardedProperties() {
+        Properties properties = System.getProperties();
+        List<String> forwarded = new ArrayList<>();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            if (JVM_PREFIXES.stream().noneMatch(key::startsWith)) {
+                forwarded.add("-D" + key + "=" + properties.getProperty(key));
+            }
+        }
+        return forwarded;
+    }
+}
@@ -0,0 +1,349 @@
+package shard;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import support.DurationHistory;
+import support.Sharding;
+import support.TestConfig;
+
+/**
+ * Объединяет отчёты шардов ({@code target/run/shard-<номер>/}) в {@code target/run/merged/}:
+ * <ul>
+ *     <li>{@code junit.xml} — testsuite по классу со случаями всех шардов и пересчитанными счётчиками;</li>
+ *     <li>{@code results.csv} и {@code latency.csv} — строки всех шардов с колонкой shard;</li>
+ *     <li>{@code shards.csv} — число тестов, падений и суммарное время тестов каждого шарда;</li>
+ *     <li>{@code artifacts/shard-<номер>/} — артефакты упавших тестов.</li>
+ * </ul>
+ * Случаи каждого шарда сверяются с планом разбиения {@code plan.csv}, который записывает каждый шард:
+ * потерянный или выполненный дважды случай, как и шард без {@code junit.xml}, роняет объединение.
+ * Исключение — шард, которому по плану не досталось ни одного случая: он не создаёт тестов
+ * и отчёта не пишет, от него нужен только {@code plan.csv}. Проверки без браузера в план не входят:
+ * они выполняются только в shard-0 (см. {@link Sharding}) и попадают в отчёт оттуда.
+ * <p>
+ * Запуск отдельно от {@link ShardLauncher} (например, после сбора отчётов из контейнеров CI):
+ * {@code java -cp ... shard.ShardReportMerger [каталог отчётов] [число шардов]}.
+ */
+public final class ShardReportMerger {
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = Paths.get(args.length > 0 ? args[0] : TestConfig.get("run.output.dir", "target/run"));
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : TestConfig.getInt("shard.count", 0);
+        merge(root, count > 0 ? count : foundShards(root));
+    }
+
+    /**
+     * Объединяет отчёты шардов {@code shard-0} ... {@code shard-<count-1>} каталога {@code root}.
+     * Общий отчёт пишется в любом случае, но если у какого-то шарда нет {@code junit.xml}
+     * (процесс упал до записи отчёта) или выполненные случаи не совпадают с планом разбиения,
+     * выбрасывается исключение. Шарду, которому план не назначил случаев, {@code junit.xml} не нужен.
+     *
+     * @param root  Каталог отчётов.
+     * @param count Ожидаемое число шардов.
+     * @throws IllegalStateException если отчёты шардов неполные или расходятся с планом.
+     */
+    public static void merge(Path root, int count) throws Exception {
+        List<String> problems = new ArrayList<>();
+        // Шарды с отчётом
+        List<Path> shards = new ArrayList<>();
+        // Шарды с планом разбиения: с отчётом и пустые по плану
+        List<Path> planned = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path shard = root.resolve("shard-" + i);
+            if (Files.isRegularFile(shard.resolve("junit.xml"))) {
+                shards.add(shard);
+                planned.add(shard);
+            } else if (isEmptyByPlan(shard, i)) {
+                System.out.println("[ShardMerge] " + shard.getFileName() + ": по плану случаев нет, отчёт не нужен");
+                planned.add(shard);
+            } else {
+                problems.add(shard.getFileName() + ": нет junit.xml — шард не завершился или не запускался");
+            }
+        }
+        int found = foundShards(root);
+        if (found > count) {
+            System.out.println("[ShardMerge] каталоги shard-" + count + " ... shard-" + (found - 1)
+                    + " не входят в прогон из " + count + " шардов и пропущены");
+        }
+        Path merged = root.resolve("merged");
+        ShardLauncher.delete(merged);
+        Files.createDirectories(merged);
+
+        mergeCsv(shards, "results.csv", merged);
+        mergeCsv(shards, "latency.csv", merged);
+        Map<Integer, Set<String>> reported = mergeJUnitXml(shards, merged);
+        checkPlan(planned, reported, problems);
+        for (Path shard : shards) {
+            copyArtifacts(shard.resolve("artifacts"), merged.resolve("artifacts").resolve(shard.getFileName()));
+        }
+        System.out.println("[ShardMerge] отчёты " + shards.size() + " из " + count + " шардов объединены в " + merged);
+        if (!problems.isEmpty()) {
+            problems.forEach(problem -> System.err.println("[ShardMerge] " + problem));
+            throw new IllegalStateException("Отчёты шардов неполные или расходятся с планом: " + problems.size()
+                    + " проблем(ы), см. вывод выше");
+        }
+    }
+
+    /**
+     * Склеивает одноимённые CSV шардов, добавляя первой колонкой номер шарда.
+     */
+    private static void mergeCsv(List<Path> shards, String name, Path merged) throws IOException {
+        String header = null;
+        List<String> rows = new ArrayList<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve(name);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                continue;
+            }
+            header = "shard," + lines.get(0);
+            for (String line : lines.subList(1, lines.size())) {
+                rows.add(number(shard) + "," + line);
+            }
+        }
+        if (header == null) {
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(merged.resolve(name), StandardCharsets.UTF_8))) {
+            out.println(header);
+            rows.forEach(out::println);
+        }
+    }
+
+    /**
+     * Собирает testcase всех шардов по классам, пересчитывает счётчики testsuite и пишет сводку по шардам.
+     *
+     * @return Ключи случаев ({@link DurationHistory#key}), выполненных каждым шардом.
+     */
+    private static Map<Integer, Set<String>> mergeJUnitXml(List<Path> shards, Path merged) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document xml = factory.newDocumentBuilder().newDocument();
+        Map<String, List<Element>> byClass = new TreeMap<>();
+        List<String> shardRows = new ArrayList<>();
+        long busyMax = 0;
+        long busyTotal = 0;
+        Map<Integer, Set<String>> reported = new TreeMap<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve("junit.xml");
+            NodeList cases = factory.newDocumentBuilder().parse(file.toFile()).getElementsByTagName("testcase");
+            Set<String> keys = reported.computeIfAbsent(number(shard), k -> new TreeSet<>());
+            int failed = 0;
+            long busy = 0;
+            for (int i = 0; i < cases.getLength(); i++) {
+                Element testCase = (Element) xml.importNode(cases.item(i), true);
+                byClass.computeIfAbsent(testCase.getAttribute("classname"), k -> new ArrayList<>()).add(testCase);
+                keys.add(DurationHistory.key(testCase.getAttribute("classname"), testCase.getAttribute("name")));
+                busy += millis(testCase.getAttribute("time"));
+                if (outcome(testCase).equals("failure") || outcome(testCase).equals("error")) {
+                    failed++;
+                }
+            }
+            shardRows.add(number(shard) + "," + cases.getLength() + "," + (cases.getLength() - failed) + ","
+                    + failed + "," + busy);
+            System.out.println("[ShardMerge] " + shard.getFileName() + ": tests=" + cases.getLength()
+                    + ", failed=" + failed + ", busy=" + busy + " ms");
+            busyMax = Math.max(busyMax, busy);
+            busyTotal += busy;
+        }
+
+        Element suites = xml.createElement("testsuites");
+        xml.appendChild(suites);
+        int tests = 0;
+        int failures = 0;
+        for (Map.Entry<String, List<Element>> entry : byClass.entrySet()) {
+            Map<String, Integer> counts = new TreeMap<>();
+            long millis = 0;
+            Element suite = xml.createElement("testsuite");
+            suite.setAttribute("name", entry.getKey());
+            for (Element testCase : entry.getValue()) {
+                counts.merge(outcome(testCase), 1, Integer::sum);
+                millis += millis(testCase.getAttribute("time"));
+                suite.appendChild(testCase);
+            }
+            suite.setAttribute("tests", String.valueOf(entry.getValue().size()));
+            suite.setAttribute("failures", String.valueOf(counts.getOrDefault("failure", 0)));
+            suite.setAttribute("errors", String.valueOf(counts.getOrDefault("error", 0)));
+            suite.setAttribute("skipped", String.valueOf(counts.getOrDefault("skipped", 0)));
+            suite.setAttribute("time", String.format(Locale.ROOT, "%.3f", millis / 1000.0));
+            suites.appendChild(suite);
+            tests += entry.getValue().size();
+            failures += counts.getOrDefault("failure", 0) + counts.getOrDefault("error", 0);
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.transform(new DOMSource(xml), new StreamResult(merged.resolve("junit.xml").toFile()));
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(merged.resolve("shards.csv"), StandardCharsets.UTF_8))) {
+            out.println("shard,tests,passed,failed,busyMillis");
+            shardRows.forEach(out::println);
+        }
+        // Баланс — средняя загрузка шарда относительно самой большой: 100% — шарды закончили одновременно
+        long balance = busyMax == 0 ? 100 : Math.round(100.0 * busyTotal / shards.size() / busyMax);
+        System.out.println("[ShardMerge] tests=" + tests + ", failed=" + failures + ", shards=" + shards.size()
+                + ", busy max=" + busyMax + " ms, balance=" + balance + "%");
+        return reported;
+    }
+
+    /**
+     * Сверяет выполненные случаи с планом разбиения ({@code plan.csv}, его пишет {@link Sharding}).
+     * Планы всех шардов должны совпадать (иначе шарды читали разную историю длительностей),
+     * а каждый случай запущенных классов — быть выполнен ровно в том шарде, которому он назначен.
+     */
+    private static void checkPlan(List<Path> shards, Map<Integer, Set<String>> reported, List<String> problems)
+            throws IOException {
+        Map<String, Integer> plan = null;
+        Path planSource = null;
+        for (Path shard : shards) {
+            Path file = shard.resolve(Sharding.PLAN_FILE);
+            Map<String, Integer> shardPlan = Files.isRegularFile(file) ? readPlan(file) : null;
+            if (planSource == null) {
+                plan = shardPlan;
+                planSource = shard;
+            } else if (!Objects.equals(plan, shardPlan)) {
+                problems.add(shard.getFileName() + ": план разбиения отличается от плана " + planSource.getFileName()
+                        + " — шарды читали разную историю длительностей");
+                return;
+            }
+        }
+        if (plan == null) {
+            System.out.println("[ShardMerge] шарды не записали план разбиения, сверка случаев пропущена");
+            return;
+        }
+
+        Map<String, Set<Integer>> executed = new TreeMap<>();
+        Set<String> executedClasses = new TreeSet<>();
+        reported.forEach((shard, keys) -> keys.forEach(key -> {
+            executed.computeIfAbsent(key, k -> new TreeSet<>()).add(shard);
+            executedClasses.add(classOf(key));
+        }));
+        Set<Integer> present = reported.keySet();
+        for (Map.Entry<String, Integer> entry : plan.entrySet()) {
+            String key = entry.getKey();
+            int owner = entry.getValue();
+            Set<Integer> where = executed.getOrDefault(key, Collections.emptySet());
+            // Случаи классов, которые в этом прогоне не запускались, и случаи упавших шардов уже не проверить
+            if (!executedClasses.contains(classOf(key)) || !present.contains(owner)) {
+                continue;
+            }
+            if (!where.equals(Collections.singleton(owner))) {
+                problems.add(key + ": по плану в shard-" + owner + ", выполнен в "
+                        + (where.isEmpty() ? "ни одном шарде" : "shard-" + where));
+            }
+        }
+        for (Map.Entry<String, Set<Integer>> entry : executed.entrySet()) {
+            if (!plan.containsKey(entry.getKey()) && plan.keySet().stream().anyMatch(
+                    key -> classOf(key).equals(classOf(entry.getKey())))) {
+                problems.add(entry.getKey() + ": нет в плане разбиения, выполнен в shard-" + entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Возвращает true, если шард записал план разбиения и в нём нет ни одного его случая.
+     */
+    private static boolean isEmptyByPlan(Path shard, int index) throws IOException {
+        Path file = shard.resolve(Sharding.PLAN_FILE);
+        return Files.isRegularFile(file) && !readPlan(file).containsValue(index);
+    }
+
+    private static Map<String, Integer> readPlan(Path file) throws IOException {
+        Map<String, Integer> plan = new TreeMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            int comma = line.indexOf(',');
+            plan.put(line.substring(comma + 1), Integer.parseInt(line.substring(0, comma)));
+        }
+        return plan;
+    }
+
+    private static String classOf(String key) {
+        int end = key.indexOf('[');
+        return end < 0 ? key : key.substring(0, end);
+    }
+
+    /**
+     * Возвращает вид результата testcase: failure, error, skipped или passed.
+     */
+    private static String outcome(Element testCase) {
+        for (Node child = testCase.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                return child.getNodeName();
+            }
+        }
+        return "passed";
+    }
+
+    private static void copyArtifacts(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path source : files.collect(Collectors.toList())) {
+                Path target = to.resolve(from.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static long millis(String seconds) {
+        return seconds.isEmpty() ? 0 : Math.round(Double.parseDouble(seconds) * 1000);
+    }
+
+    /**
+     * Возвращает число шардов по каталогам {@code shard-<номер>}: наибольший номер плюс один.
+     */
+    private static int foundShards(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        try (Stream<Path> children = Files.list(root)) {
+            return children.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().matches("shard-\\d+"))
+                    .mapToInt(ShardReportMerger::number)
+                    .max()
+                    .orElse(-1) + 1;
+        }
+    }
+
+    private static int number(Path shard) {
+        String name = shard.getFileName().toString();
+        return Integer.parseInt(name.substring(name.indexOf('-') + 1));
+    }
+}
@@ -0,0 +1,174 @@
+package support;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Снимок состояния браузера после согласия с куки.
+ * После первого нажатия на кнопку в баннере куки и localStorage сохраняются,
+ * а затем подставляются в каждую новую или сброшенную сессию до первого перехода
+ * (через Chrome DevTools Protocol), поэтому тест сразу получает главную страницу без баннера.
+ * Если баннер всё же появился, снимок считается устаревшим и снимается заново.
+ * Отключается свойством {@code state.snapshot=false}.
+ */
+public final class BrowserStateSnapshot {
+
+    private static volatile State state;
+
+    // Идентификаторы скриптов восстановления localStorage, установленных в сессиях
+    private static final Map<WebDriver, String> INSTALLED_SCRIPTS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger CAPTURES = new AtomicInteger();
+    private static final AtomicInteger APPLIED = new AtomicInteger();
+    private static final AtomicInteger INVALIDATIONS = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (CAPTURES.get() > 0) {
+                System.out.println("[StateSnapshot] captures=" + CAPTURES.get() + ", applied=" + APPLIED.get()
+                        + ", invalidations=" + INVALIDATIONS.get());
+            }
+        }, "state-snapshot-report"));
+    }
+
+    /**
+     * Сохранённое состояние: куки и содержимое localStorage для адреса приложения.
+     */
+    private static final class State {
+        final String baseUrl;
+        final List<Cookie> cookies;
+        final Map<String, String> localStorage;
+
+        State(String baseUrl, List<Cookie> cookies, Map<String, String> localStorage) {
+            this.baseUrl = baseUrl;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+        }
+    }
+
+    private BrowserStateSnapshot() {
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("state.snapshot", true);
+    }
+
+    /**
+     * Сохраняет куки и localStorage текущей страницы. Вызывается сразу после согласия с куки.
+     */
+    public static void capture(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        Object items = ((JavascriptExecutor) driver).executeScript(
+                "var items = {}; for (var i = 0; i < localStorage.length; i++) {"
+                + " var key = localStorage.key(i); items[key] = localStorage.getItem(key); } return items;");
+        Map<String, String> storage = new LinkedHashMap<>();
+        if (items instanceof Map) {
+            ((Map<?, ?>) items).forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        }
+        state = new State(TestConfig.baseUrl(), new ArrayList<>(driver.manage().getCookies()), storage);
+        CAPTURES.incrementAndGet();
+    }
+
+    /**
+     * Подставляет сохранённое состояние в сессию. Вызывается до перехода на главную страницу.
+     */
+    public static void applyTo(WebDriver driver) {
+        State current = state;
+        if (current == null || !isEnabled() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            for (Cookie cookie : current.cookies) {
+                cdp.executeCdpCommand("Network.setCookie", toCdpCookie(cookie, current.baseUrl));
+            }
+            removeStorageScript(driver);
+            if (!current.localStorage.isEmpty()) {
+                Map<String, Object> result = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("source", storageScript(current)));
+                INSTALLED_SCRIPTS.put(driver, String.valueOf(result.get("identifier")));
+            }
+            APPLIED.incrementAndGet();
+        } catch (WebDriverException e) {
+            // Без снимка тест просто закроет баннер сам
+            System.err.println("[StateSnapshot] не удалось применить снимок: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Сообщает, что баннер куки показан. Если снимок был применён, он устарел и сбрасывается;
+     * после нажатия на кнопку баннера нужно снова вызвать {@link #capture(WebDriver)}.
+     */
+    public static void onBannerShown(WebDriver driver) {
+        if (state != null) {
+            state = null;
+            INVALIDATIONS.incrementAndGet();
+            removeStorageScript(driver);
+        }
+    }
+
+    /**
+     * Забывает сессию при её закрытии.
+     */
+    public static void forget(WebDriver driver) {
+        INSTALLED_SCRIPTS.remove(driver);
+    }
+
+    private static void removeStorageScript(WebDriver driver) {
+        String identifier = INSTALLED_SCRIPTS.remove(driver);
+        if (identifier != null && driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("identifier", identifier));
+            } catch (WebDriverException e) {
+                // Сессия уже закрыта — скрипт удалён вместе с ней
+            }
+        }
+    }
+
+    private static Map<String, Object> toCdpCookie(Cookie cookie, String baseUrl) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        params.put("url", baseUrl);
+        params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return params;
+    }
+
+    /**
+     * Скрипт, восстанавливающий localStorage на страницах приложения до выполнения их собственного кода.
+     */
+    private static String storageScript(State current) {
+        URI uri = URI.create(current.baseUrl);
+        String origin = uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        Json json = new Json();
+        return "(function () {"
+                + " if (location.origin !== " + json.toJson(origin) + ") { return; }"
+                + " var items = " + json.toJson(current.localStorage) + ";"
+                + " Object.keys(items).forEach(function (key) {"
+                + "  if (localStorage.getItem(key) === null) { localStorage.setItem(key, items[key]); }"
+                + " });"
+                + "})();";
+    }
+}
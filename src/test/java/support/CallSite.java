@@ -0,0 +1,65 @@
+package support;
+
+/**
+ * Определяет, какой метод page object или теста выполняет текущую команду браузера.
+ * Используется для тегирования замеров в {@link LatencyRecorder}.
+ */
+public final class CallSite {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private CallSite() {
+    }
+
+    /**
+     * Возвращает тег вида {@code OrderPage.clickOrderButton}.
+     * Берётся самый внешний метод page object (публичный метод, вызванный тестом);
+     * если команда выполнена не из page object — метод теста, затем метод вспомогательного класса.
+     */
+    public static String tag() {
+        return WALKER.walk(frames -> {
+            String pageObject = null;
+            String test = null;
+            String support = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith("pageObjects.")) {
+                    pageObject = name(frame);
+                } else if (test == null && className.startsWith("tests.")) {
+                    test = name(frame);
+                } else if (support == null && className.startsWith("support.") && !isInstrumentation(className)) {
+                    support = name(frame);
+                }
+            }
+            if (pageObject != null) {
+                return pageObject;
+            }
+            if (test != null) {
+                return test;
+            }
+            return support != null ? support : "unattributed";
+        });
+    }
+
+    private static boolean isInstrumentation(String className) {
+        return className.startsWith("support.CallSite")
+                || className.startsWith("support.CommandTimer")
+                || className.startsWith("support.Waits")
+                || className.startsWith("support.ElementCache");
+    }
+
+    private static String name(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        // Лямбды и вложенные классы относим к объемлющему классу
+        int nested = simpleName.indexOf('$');
+        if (nested > 0) {
+            simpleName = simpleName.substring(0, nested);
+        }
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            method = method.substring("lambda$".length(), method.lastIndexOf('$'));
+        }
+        return simpleName + "." + method;
+    }
+}
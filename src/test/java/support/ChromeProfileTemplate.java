@@ -0,0 +1,98 @@
+package support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Заранее подготовленный каталог профиля Chrome (user-data-dir).
+ * Шаблон задаётся свойством {@code chrome.profile.template}; каждая сессия получает
+ * собственную копию, так как Chrome не позволяет двум процессам работать с одним профилем.
+ * Копия привязывается к сессии ({@link #bind}) и удаляется, когда {@link DriverPool} закрывает
+ * эту сессию ({@link #release}).
+ */
+public final class ChromeProfileTemplate {
+
+    // Копии профиля по сессиям; сессии сравниваются по ссылке
+    private static final Map<WebDriver, Path> COPIES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private ChromeProfileTemplate() {
+    }
+
+    /**
+     * Возвращает путь к новой копии шаблона или null, если шаблон не задан.
+     */
+    public static Path copyForSession() {
+        String template = TestConfig.get("chrome.profile.template", "");
+        if (template.isEmpty()) {
+            return null;
+        }
+        Path source = Paths.get(template);
+        try {
+            Path target = Files.createTempDirectory("chrome-profile-");
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(source)) {
+                paths = walk.collect(Collectors.toList());
+            }
+            for (Path path : paths) {
+                // Файлы блокировки остаются от процесса, создавшего шаблон, и мешают запуску
+                if (path.getFileName().toString().startsWith("Singleton")) {
+                    continue;
+                }
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось скопировать профиль Chrome из " + source, e);
+        }
+    }
+
+    /**
+     * Привязывает копию профиля к сессии, которая с ней запущена.
+     */
+    static void bind(WebDriver driver, Path copy) {
+        if (copy != null) {
+            COPIES.put(driver, copy);
+        }
+    }
+
+    /**
+     * Удаляет копию профиля закрытой сессии. Вызывается после {@code quit()}, когда Chrome уже не держит файлы.
+     */
+    static void release(WebDriver driver) {
+        Path copy = COPIES.remove(driver);
+        if (copy != null) {
+            deleteQuietly(copy);
+        }
+    }
+
+    /**
+     * Удаляет копию профиля, если она есть (например, когда сессию с ней запустить не удалось).
+     */
+    static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Временный каталог удалит система
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Слушатель команд WebDriver, измеряющий длительность каждой команды.
+ * Замер тегируется методом page object или теста, выполнившим команду
+ * (см. {@link CallSite}), и записывается в {@link LatencyRecorder}.
+ */
+public final class CommandTimer implements WebDriverListener {
+
+    // Измеряемые команды драйвера и элементов
+    private static final Set<String> TIMED_METHODS = new HashSet<>(Arrays.asList(
+            "get", "findElement", "findElements", "click", "sendKeys", "clear",
+            "executeScript", "executeAsyncScript"));
+
+    // Время начала незавершённых команд текущего потока
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Оборачивает драйвер слушателем, если замеры не отключены свойством {@code instrumentation.enabled}.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        if (!TestConfig.getBoolean("instrumentation.enabled", true)) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new CommandTimer()).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (TIMED_METHODS.contains(method.getName())) {
+            started.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, "");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, " (error)");
+    }
+
+    private void finish(Method method, String suffix) {
+        if (!TIMED_METHODS.contains(method.getName())) {
+            return;
+        }
+        Long start = started.get().poll();
+        if (start != null) {
+            LatencyRecorder.shared().record(CallSite.tag(), method.getName() + suffix, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package support;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+/**
+ * Фабрика сессий Chrome.
+ * Все сессии JVM работают через один процесс chromedriver ({@link ChromeDriverService}),
+ * который запускается при создании первой сессии и останавливается вместе с пулом сессий.
+ * <p>
+ * Настройки (системные свойства или {@code test.properties}):
+ * <ul>
+ *     <li>{@code browser.headless} — запуск без окна (true по умолчанию);</li>
+ *     <li>{@code browser.window.size} — размер окна, например 1920,1080;</li>
+ *     <li>{@code browser.args} — дополнительные аргументы Chrome через пробел;</li>
+ *     <li>{@code browser.page.load.timeout.ms} — таймаут загрузки страницы (30000);</li>
+ *     <li>{@code driver.path} — путь к chromedriver; если не задан, он ищется
+ *     в {@code webdriver.chrome.driver}, в PATH или скачивается Selenium Manager.</li>
+ * </ul>
+ */
+public final class DriverFactory {
+
+    // Аргументы, убирающие из запуска Chrome всё, что тестам не нужно
+    private static final List<String> TUNED_ARGUMENTS = Arrays.asList(
+            "--remote-allow-origins=*",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-extensions",
+            "--disable-background-networking",
+            "--disable-sync",
+            "--disable-default-apps",
+            "--disable-notifications",
+            "--disable-dev-shm-usage",
+            "--mute-audio");
+
+    private static ChromeDriverService service;
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Создаёт новую сессию Chrome с настройками прогона.
+     * Время запуска сессии печатается в консоль и записывается в {@link LatencyRecorder}.
+     * Копия профиля Chrome, если она есть, привязывается к сессии и удаляется вместе с ней.
+     */
+    public static WebDriver create() {
+        Path profile = ChromeProfileTemplate.copyForSession();
+        WebDriver instrumented;
+        try {
+            ChromeOptions options = options(profile);
+            long start = System.nanoTime();
+            RemoteWebDriver remote = new RemoteWebDriver(service().getUrl(), options);
+            // Augmenter возвращает драйверу интерфейсы Chrome (в том числе HasCdp),
+            // которых нет у RemoteWebDriver, подключённого к chromedriver по адресу
+            WebDriver driver = new Augmenter().augment(remote);
+            long nanos = System.nanoTime() - start;
+            LatencyRecorder.shared().record("DriverFactory.create", "newSession", nanos);
+            System.out.println("[DriverFactory] сессия " + remote.getSessionId() + " запущена за "
+                    + nanos / 1_000_000 + " ms (headless=" + isHeadless() + ")");
+            // Блокируем ненужные тестам ресурсы до первого перехода
+            NetworkProfile.apply(driver);
+            // Оборачиваем драйвер замером длительности команд
+            instrumented = CommandTimer.instrument(driver);
+        } catch (RuntimeException e) {
+            // Сессия не запустилась — копия профиля больше никому не нужна
+            ChromeProfileTemplate.deleteQuietly(profile);
+            throw e;
+        }
+        ChromeProfileTemplate.bind(instrumented, profile);
+        return instrumented;
+    }
+
+    /**
+     * Собирает настройки Chrome: режим без окна, размер окна, набор аргументов,
+     * подготовленный профиль и стратегию загрузки страниц.
+     *
+     * @param profile Копия профиля Chrome для сессии или null, если шаблон не задан.
+     */
+    public static ChromeOptions options(Path profile) {
+        ChromeOptions options = new ChromeOptions();
+        List<String> arguments = new ArrayList<>(TUNED_ARGUMENTS);
+        if (isHeadless()) {
+            arguments.add("--headless=new");
+        }
+        arguments.add("--window-size=" + TestConfig.get("browser.window.size", "1920,1080"));
+        String extra = TestConfig.get("browser.args", "");
+        if (!extra.isEmpty()) {
+            arguments.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        options.addArguments(arguments);
+        // Подготовленный профиль Chrome, если задан шаблон
+        if (profile != null) {
+            options.addArguments("--user-data-dir=" + profile.toAbsolutePath());
+        }
+        // Стратегия загрузки страниц по профилю сети
+        NetworkProfile.configure(options);
+        options.setPageLoadTimeout(Duration.ofMillis(TestConfig.getInt("browser.page.load.timeout.ms", 30_000)));
+        // Консоль браузера нужна для материалов упавших тестов (FailureArtifacts)
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        return options;
+    }
+
+    public static boolean isHeadless() {
+        return TestConfig.getBoolean("browser.headless", true);
+    }
+
+    /**
+     * Останавливает общий процесс chromedriver. Вызывается после закрытия всех сессий.
+     */
+    public static synchronized void stopService() {
+        if (service != null) {
+            service.stop();
+            service = null;
+        }
+    }
+
+    /**
+     * Возвращает общий процесс chromedriver, запуская его при первом обращении.
+     */
+    private static synchronized ChromeDriverService service() {
+        if (service == null || !service.isRunning()) {
+            ChromeDriverService.Builder builder = new ChromeDriverService.Builder();
+            String path = TestConfig.get("driver.path", null);
+            if (path != null) {
+                builder.usingDriverExecutable(new File(path));
+            }
+            ChromeDriverService started = builder.usingAnyFreePort().build();
+            long start = System.nanoTime();
+            try {
+                started.start();
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось запустить chromedriver", e);
+            }
+            System.out.println("[DriverFactory] chromedriver запущен на " + started.getUrl() + " за "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            service = started;
+        }
+        return service;
+    }
+}
@@ -0,0 +1,250 @@
+package support;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Пул переиспользуемых сессий браузера.
+ * Вместо запуска нового ChromeDriver на каждый тест выдаёт «прогретую» сессию,
+ * а по окончании теста сбрасывает её состояние (куки, localStorage, sessionStorage)
+ * и возвращает на главную страницу. Сломанные сессии обнаруживаются и заменяются новыми.
+ * Пул потокобезопасен: выданная сессия привязывается к потоку, который её взял,
+ * и до возврата не используется другими потоками.
+ */
+public final class DriverPool {
+
+    private static final DriverPool SHARED = new DriverPool(DriverFactory::create);
+
+    static {
+        // Процесс chromedriver останавливаем только после закрытия всех сессий
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            SHARED.shutdown();
+            DriverFactory.stopService();
+        }, "driver-pool-shutdown"));
+    }
+
+    private final Supplier<WebDriver> factory;
+    // Переход на главную страницу приложения после создания и сброса сессии
+    private final Consumer<WebDriver> home;
+    // Свободные сессии, готовые к выдаче
+    private final Deque<WebDriver> idle = new ArrayDeque<>();
+    // Все сессии, созданные пулом и ещё не закрытые
+    private final Set<WebDriver> open = new HashSet<>();
+    // Сессия, выданная текущему потоку
+    private final ThreadLocal<WebDriver> current = new ThreadLocal<>();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger leases = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+    private final AtomicInteger replacements = new AtomicInteger();
+
+    /**
+     * Конструктор пула.
+     *
+     * @param factory Способ создания новой сессии браузера.
+     */
+    public DriverPool(Supplier<WebDriver> factory) {
+        this(factory, DriverPool::openBaseUrl);
+    }
+
+    /**
+     * Конструктор пула с собственным переходом на стартовую страницу (например, для проверки пула без браузера).
+     *
+     * @param factory Способ создания новой сессии браузера.
+     * @param home    Переход на стартовую страницу после создания и сброса сессии.
+     */
+    public DriverPool(Supplier<WebDriver> factory, Consumer<WebDriver> home) {
+        this.factory = factory;
+        this.home = home;
+    }
+
+    /**
+     * Возвращает общий для всех тестов пул.
+     */
+    public static DriverPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Выдаёт сессию браузера, открытую на главной странице приложения.
+     * Свободная сессия перед выдачей проверяется; неработающая заменяется новой.
+     * Выдачей считается только успешная: если новую сессию создать не удалось, счётчик не меняется.
+     */
+    public WebDriver lease() {
+        WebDriver driver;
+        while ((driver = pollIdle()) != null) {
+            if (isHealthy(driver)) {
+                current.set(driver);
+                leases.incrementAndGet();
+                return driver;
+            }
+            // Сессия «умерла», пока лежала в пуле — закрываем и пробуем следующую
+            replacements.incrementAndGet();
+            discard(driver);
+        }
+        driver = createSession();
+        current.set(driver);
+        leases.incrementAndGet();
+        return driver;
+    }
+
+    /**
+     * Возвращает сессию, выданную текущему потоку, или null, если поток её не брал.
+     */
+    public WebDriver current() {
+        return current.get();
+    }
+
+    /**
+     * Возвращает сессию в пул. Состояние браузера сбрасывается;
+     * если сброс не удался, сессия закрывается и в следующий раз будет создана новая.
+     */
+    public void release(WebDriver driver) {
+        current.remove();
+        try {
+            reset(driver);
+            resets.incrementAndGet();
+        } catch (WebDriverException e) {
+            replacements.incrementAndGet();
+            discard(driver);
+            return;
+        }
+        synchronized (this) {
+            if (open.contains(driver)) {
+                idle.push(driver);
+            }
+        }
+    }
+
+    /**
+     * Закрывает сессию без возврата в пул и удаляет её копию профиля Chrome.
+     */
+    public void discard(WebDriver driver) {
+        if (current.get() == driver) {
+            current.remove();
+        }
+        synchronized (this) {
+            open.remove(driver);
+            idle.remove(driver);
+        }
+        BrowserStateSnapshot.forget(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // Сессия уже недоступна — закрывать нечего
+        }
+        ChromeProfileTemplate.release(driver);
+    }
+
+    /**
+     * Закрывает все сессии пула, удаляет их копии профиля Chrome и выводит статистику.
+     */
+    public void shutdown() {
+        Set<WebDriver> toClose;
+        synchronized (this) {
+            toClose = new HashSet<>(open);
+            open.clear();
+            idle.clear();
+        }
+        for (WebDriver driver : toClose) {
+            try {
+                driver.quit();
+            } catch (WebDriverException e) {
+                // Игнорируем: процесс браузера мог завершиться раньше
+            }
+            ChromeProfileTemplate.release(driver);
+        }
+        if (leases.get() > 0) {
+            System.out.println("[DriverPool] " + stats());
+        }
+    }
+
+    /**
+     * Возвращает статистику пула: сколько сессий создано, выдано, сброшено и заменено.
+     */
+    public String stats() {
+        return "created=" + created.get()
+                + ", leases=" + leases.get()
+                + ", resets=" + resets.get()
+                + ", replacements=" + replacements.get();
+    }
+
+    public int getCreated() {
+        return created.get();
+    }
+
+    public int getLeases() {
+        return leases.get();
+    }
+
+    public int getResets() {
+        return resets.get();
+    }
+
+    public int getReplacements() {
+        return replacements.get();
+    }
+
+    private synchronized WebDriver pollIdle() {
+        return idle.poll();
+    }
+
+    private WebDriver createSession() {
+        WebDriver driver = factory.get();
+        created.incrementAndGet();
+        synchronized (this) {
+            open.add(driver);
+        }
+        try {
+            home.accept(driver);
+        } catch (WebDriverException e) {
+            discard(driver);
+            throw e;
+        }
+        return driver;
+    }
+
+    /**
+     * Проверяет, что сессия отвечает на команды.
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Очищает куки и хранилища браузера и возвращает его на главную страницу.
+     */
+    private void reset(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        // Хранилища привязаны к текущему домену, поэтому чистим их до перехода
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        home.accept(driver);
+    }
+
+    /**
+     * Открывает главную страницу и записывает время загрузки в {@link PageLoadReport}.
+     * Перед переходом подставляет сохранённое состояние браузера (согласие с куки).
+     */
+    private static void openBaseUrl(WebDriver driver) {
+        BrowserStateSnapshot.applyTo(driver);
+        String url = TestConfig.baseUrl();
+        long start = System.nanoTime();
+        driver.get(url);
+        PageLoadReport.record(url, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,151 @@
+package support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * История длительностей тестовых случаев между прогонами.
+ * Ключ — класс теста и номер набора параметров, например {@code tests.OrderTest[0]}
+ * (для непараметризованных тестов — класс и метод, {@code tests.LocalScooterServerTest#servesHomePage}).
+ * Длительность случая — сумма длительностей всех его методов; при обновлении новое значение
+ * усредняется с сохранённым, чтобы один медленный прогон не ломал оценку.
+ * Файл {@code durations.properties} хранится в {@link TestConfig#historyDir()}.
+ */
+public final class DurationHistory {
+
+    // Оценка для случая, по которому нет ни собственной истории, ни истории его класса
+    private static final long DEFAULT_ESTIMATE_MILLIS = TestConfig.getInt("scheduler.default.estimate.ms", 5_000);
+
+    private static final DurationHistory SHARED = new DurationHistory(TestConfig.historyDir().resolve("durations.properties"));
+
+    private final Path file;
+    private final Map<String, Long> millis = new ConcurrentHashMap<>();
+    // Случаи, обновлённые в этом прогоне
+    private final Set<String> updated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Создаёт историю, загружая сохранённые значения из файла, если он есть.
+     */
+    public DurationHistory(Path file) {
+        this.file = file;
+        load();
+    }
+
+    public static DurationHistory shared() {
+        return SHARED;
+    }
+
+    /**
+     * Возвращает ключ истории для результата теста.
+     *
+     * @param testClass Полное имя класса теста.
+     * @param testName  Имя метода, для параметризованных тестов с номером набора: {@code testOrderFlow[0]}.
+     */
+    public static String key(String testClass, String testName) {
+        int bracket = testName.indexOf('[');
+        return bracket >= 0 ? testClass + testName.substring(bracket) : testClass + "#" + testName;
+    }
+
+    /**
+     * Возвращает ожидаемую длительность случая в миллисекундах.
+     * Неизвестный случай оценивается средним по известным случаям того же класса,
+     * затем средним по всей истории, и только без истории — значением по умолчанию.
+     */
+    public long estimate(String key) {
+        Long known = millis.get(key);
+        if (known != null) {
+            return known;
+        }
+        String testClass = classOf(key);
+        List<Long> sameClass = new ArrayList<>();
+        millis.forEach((other, value) -> {
+            if (classOf(other).equals(testClass)) {
+                sameClass.add(value);
+            }
+        });
+        if (!sameClass.isEmpty()) {
+            return mean(sameClass);
+        }
+        return millis.isEmpty() ? DEFAULT_ESTIMATE_MILLIS : mean(millis.values());
+    }
+
+    /**
+     * Обновляет историю по результатам прогона и сохраняет её в файл.
+     * Учитываются только выполненные тесты: пропущенные, взятые из кэша и повторённые попытки — нет.
+     */
+    public synchronized void update(List<ResultCollector.Result> results) {
+        Map<String, Long> measured = new LinkedHashMap<>();
+        for (ResultCollector.Result result : results) {
+            if (result.status == ResultCollector.Status.PASSED || result.status == ResultCollector.Status.FAILED
+                    || result.status == ResultCollector.Status.BROKEN) {
+                measured.merge(key(result.testClass, result.testName), result.durationMillis, Long::sum);
+            }
+        }
+        if (measured.isEmpty()) {
+            return;
+        }
+        measured.forEach((key, value) -> millis.merge(key, value, (old, fresh) -> (old + fresh) / 2));
+        updated.addAll(measured.keySet());
+        save();
+    }
+
+    private void load() {
+        millis.putAll(read(file));
+    }
+
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> values = new TreeMap<>();
+        Map<String, String> stored;
+        try {
+            stored = HistoryFile.read(file);
+        } catch (IOException e) {
+            System.err.println("[DurationHistory] не удалось прочитать " + file + ": " + e.getMessage());
+            return values;
+        }
+        stored.forEach((key, value) -> {
+            try {
+                values.put(key, Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                // Испорченная строка — случай будет оценён заново
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Записывает историю через {@link HistoryFile}: поверх перечитанного файла кладутся только случаи
+     * этого прогона, так шарды, завершающиеся одновременно, не затирают записи друг друга.
+     */
+    private void save() {
+        try {
+            HistoryFile.update(file, "Длительности тестовых случаев, мс",
+                    values -> updated.forEach(key -> values.put(key, String.valueOf(millis.get(key)))));
+        } catch (IOException e) {
+            System.err.println("[DurationHistory] не удалось записать " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String classOf(String key) {
+        int end = key.indexOf('[');
+        if (end < 0) {
+            end = key.indexOf('#');
+        }
+        return end < 0 ? key : key.substring(0, end);
+    }
+
+    private static long mean(Collection<Long> values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum / values.size();
+    }
+}
@@ -0,0 +1,111 @@
+package support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Кэш найденных элементов страницы.
+ * Page object хранит один экземпляр кэша и получает элементы через него:
+ * повторное обращение по тому же локатору не требует запроса к браузеру.
+ * Элемент ищется заново, если он устарел (перерисован) или страница сменилась —
+ * page object сообщает о переходе вызовом {@link #invalidate()}.
+ * Кэш не потокобезопасен и, как и page object, принадлежит одному тесту.
+ */
+public final class ElementCache {
+
+    // Общая статистика по всем кэшам
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong STALE = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (HITS.get() + MISSES.get() > 0) {
+                System.out.println("[ElementCache] " + stats());
+            }
+        }, "element-cache-report"));
+    }
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Возвращает элемент по локатору: из кэша или, при промахе, найденный в браузере.
+     */
+    public WebElement find(By locator) {
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            HITS.incrementAndGet();
+            return element;
+        }
+        MISSES.incrementAndGet();
+        element = driver.findElement(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Сохраняет уже найденный элемент, например результат явного ожидания.
+     *
+     * @return Переданный элемент.
+     */
+    public WebElement put(By locator, WebElement element) {
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Выполняет действие над элементом. Если элемент из кэша оказался устаревшим,
+     * он ищется заново и действие повторяется один раз.
+     */
+    public void with(By locator, Consumer<WebElement> action) {
+        try {
+            action.accept(find(locator));
+        } catch (StaleElementReferenceException e) {
+            STALE.incrementAndGet();
+            elements.remove(locator);
+            action.accept(find(locator));
+        }
+    }
+
+    public void click(By locator) {
+        with(locator, WebElement::click);
+    }
+
+    public void sendKeys(By locator, CharSequence... keys) {
+        with(locator, element -> element.sendKeys(keys));
+    }
+
+    /**
+     * Сбрасывает кэш после перехода на другую страницу или шаг формы.
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+
+    public static long hits() {
+        return HITS.get();
+    }
+
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Возвращает общую статистику: попадания в кэш равны числу сэкономленных запросов findElement.
+     */
+    public static String stats() {
+        return "hits=" + HITS.get() + ", misses=" + MISSES.get() + ", stale=" + STALE.get();
+    }
+}
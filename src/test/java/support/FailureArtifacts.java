@@ -0,0 +1,211 @@
+package support;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runner.Description;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+/**
+ * Материалы для разбора упавших тестов: скриншот, DOM страницы, консоль браузера,
+ * хронология команд ({@link TimingTrail}) и стек исключения.
+ * Снимаются только при падении, поэтому проходящие тесты не замедляются.
+ * Состояние браузера считывается в потоке теста, а на диск файлы пишет отдельный фоновый поток.
+ * Очередь записи ограничена ({@code artifacts.queue}, 16), общий объём — квотой
+ * ({@code artifacts.quota.mb}, 50); что не поместилось, отбрасывается и учитывается в сводке.
+ * Файлы попадают в {@code <run.output.dir>/artifacts/<тест>-<номер>/}.
+ * Отключается свойством {@code artifacts.enabled=false}.
+ */
+public final class FailureArtifacts {
+
+    private static final FailureArtifacts SHARED = new FailureArtifacts(
+            TestConfig.outputDir().resolve("artifacts"),
+            TestConfig.getInt("artifacts.queue", 16),
+            TestConfig.getInt("artifacts.quota.mb", 50) * 1024L * 1024L);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::close, "failure-artifacts-close"));
+    }
+
+    /**
+     * Набор файлов одного падения.
+     */
+    private static final class Job {
+        final Path dir;
+        final Map<String, byte[]> files;
+
+        Job(Path dir, Map<String, byte[]> files) {
+            this.dir = dir;
+            this.files = files;
+        }
+
+        long size() {
+            long size = 0;
+            for (byte[] content : files.values()) {
+                size += content.length;
+            }
+            return size;
+        }
+    }
+
+    private final Path root;
+    private final long quotaBytes;
+    private final BlockingQueue<Job> queue;
+    private final Thread writer;
+    private volatile boolean closing;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicInteger captured = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger droppedQueueFull = new AtomicInteger();
+    private final AtomicInteger droppedOverQuota = new AtomicInteger();
+
+    /**
+     * Конструктор.
+     *
+     * @param root          Каталог для материалов.
+     * @param queueCapacity Сколько падений может ожидать записи.
+     * @param quotaBytes    Максимальный объём материалов за прогон.
+     */
+    public FailureArtifacts(Path root, int queueCapacity, long quotaBytes) {
+        this.root = root;
+        this.quotaBytes = quotaBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::drain, "failure-artifacts-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static FailureArtifacts shared() {
+        return SHARED;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("artifacts.enabled", true);
+    }
+
+    /**
+     * Снимает материалы упавшего теста и ставит их в очередь на запись.
+     * Не бросает исключений: неудача при съёмке не должна подменять настоящую ошибку теста.
+     *
+     * @param driver      Сессия теста или null, если тест работал без браузера.
+     * @param description Описание теста.
+     * @param failure     Ошибка, с которой упал тест.
+     */
+    public void capture(WebDriver driver, Description description, Throwable failure) {
+        if (!isEnabled()) {
+            return;
+        }
+        captured.incrementAndGet();
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("failure.txt", utf8(stackTrace(failure)));
+        files.put("timing.csv", utf8(String.join("\n", TimingTrail.toCsv()) + "\n"));
+        if (driver != null) {
+            try {
+                files.put("url.txt", utf8(driver.getCurrentUrl()));
+                files.put("screenshot.png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+                files.put("dom.html", utf8(driver.getPageSource()));
+                files.put("console.log", utf8(consoleLog(driver)));
+            } catch (WebDriverException | ClassCastException e) {
+                // Сессия могла умереть вместе с тестом — сохраняем то, что успели снять
+                files.put("capture-error.txt", utf8(stackTrace(e)));
+            }
+        }
+        Path dir = root.resolve(safeName(description.getTestClass() == null
+                ? description.getClassName() : description.getTestClass().getSimpleName())
+                + "." + safeName(String.valueOf(description.getMethodName())) + "-" + sequence.incrementAndGet());
+        if (!queue.offer(new Job(dir, files))) {
+            droppedQueueFull.incrementAndGet();
+        }
+    }
+
+    /**
+     * Дожидается записи оставшихся материалов (не дольше {@code artifacts.close.timeout.ms}) и печатает сводку.
+     */
+    public void close() {
+        closing = true;
+        try {
+            writer.join(TestConfig.getInt("artifacts.close.timeout.ms", 10_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (captured.get() > 0) {
+            System.out.println("[FailureArtifacts] captured=" + captured.get() + ", written=" + written.get()
+                    + ", droppedQueueFull=" + droppedQueueFull.get() + ", droppedOverQuota=" + droppedOverQuota.get()
+                    + ", bytes=" + usedBytes.get() + ", dir=" + root);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closing || !queue.isEmpty()) {
+                Job job = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (job != null) {
+                    write(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Job job) {
+        long size = job.size();
+        if (usedBytes.addAndGet(size) > quotaBytes) {
+            usedBytes.addAndGet(-size);
+            droppedOverQuota.incrementAndGet();
+            return;
+        }
+        try {
+            Files.createDirectories(job.dir);
+            for (Map.Entry<String, byte[]> file : job.files.entrySet()) {
+                Files.write(job.dir.resolve(file.getKey()), file.getValue());
+            }
+            written.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("[FailureArtifacts] не удалось записать " + job.dir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает записи консоли браузера. Требует {@code goog:loggingPrefs}, см. {@link DriverFactory}.
+     */
+    private static String consoleLog(WebDriver driver) {
+        StringBuilder log = new StringBuilder();
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            log.append(entry).append('\n');
+        }
+        return log.toString();
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter text = new StringWriter();
+        failure.printStackTrace(new PrintWriter(text));
+        return text.toString();
+    }
+
+    private static String safeName(String name) {
+        return name.replaceAll("[^\\p{L}\\p{N}._\\[\\]-]", "_");
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Файл истории в {@link TestConfig#historyDir()} в формате properties, который могут одновременно
+ * обновлять несколько JVM (шарды одной машины).
+ * Обновление выполняется под блокировкой файла {@code <файл>.lock}: файл перечитывается, к нему применяются
+ * только изменения текущей JVM, и результат через временный файл атомарно заменяет прежний.
+ */
+final class HistoryFile {
+
+    private HistoryFile() {
+    }
+
+    /**
+     * Читает файл истории. Если файла нет, возвращает пустую таблицу.
+     */
+    static Map<String, String> read(Path file) throws IOException {
+        Map<String, String> values = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return values;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        return values;
+    }
+
+    /**
+     * Применяет изменения к свежему содержимому файла и записывает результат.
+     *
+     * @param file    Файл истории.
+     * @param comment Комментарий в первой строке файла.
+     * @param change  Изменения текущей JVM: получает перечитанное содержимое файла и меняет только свои ключи.
+     */
+    static void update(Path file, String comment, Consumer<Map<String, String>> change) throws IOException {
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                Map<String, String> values = read(file);
+                change.accept(values);
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write("# " + comment + "\n");
+                    for (Map.Entry<String, String> entry : values.entrySet()) {
+                        writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
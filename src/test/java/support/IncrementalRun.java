@@ -0,0 +1,319 @@
+package support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Инкрементальный режим: тест не запускается, если с последнего успешного прогона
+ * не изменились ни его входные данные, ни код page object и теста, ни отпечаток страниц приложения.
+ * Такой тест помечается как «пройден по кэшу» ({@link CachedPass}, статус CACHED в {@link ResultCollector}).
+ * <p>
+ * Отпечаток страницы снимается без браузера — HTTP-запросом: ETag или хеш HTML и подключённых
+ * к нему скриптов и стилей. Код — хеш байт-кода классов теста и page object. Входные данные —
+ * значения полей экземпляра теста (параметры); даты в них учитываются как смещение от текущего дня,
+ * чтобы параметр «через три дня» не менялся каждые сутки. Кроме того, в отпечаток входят настройки
+ * прогона, меняющие поведение тестов: {@code order.fill.mode}, {@code faq.mode}, {@code perf.mode},
+ * {@code net.profile}. Отпечатки успешных тестов хранятся
+ * в {@code .test-history/incremental.properties}.
+ * <p>
+ * Включается свойством {@code incremental=true}; {@code incremental.force=true} запускает все тесты,
+ * но по-прежнему обновляет сохранённые отпечатки.
+ */
+public final class IncrementalRun implements TestRule {
+
+    private static final Pattern RESOURCE_LINK = Pattern.compile("<(?:script|link)[^>]+(?:src|href)=\"([^\"]+)\"");
+    // Формат дат в параметрах тестов (как в data.OrderData)
+    private static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    // Настройки прогона, от которых зависит поведение тестов
+    private static final List<String> RUN_CONFIG_KEYS = Arrays.asList("order.fill.mode", "faq.mode", "perf.mode", "net.profile");
+
+    private static final Path FILE = TestConfig.historyDir().resolve("incremental.properties");
+    // Отпечатки последних успешных прогонов по тестам
+    private static final Map<String, String> GREEN = load();
+    // Тесты, отпечаток которых этот прогон записал или сбросил: при сохранении меняются только они
+    private static final Set<String> TOUCHED = ConcurrentHashMap.newKeySet();
+    // Отпечатки страниц, снятые в текущем прогоне
+    private static final Map<String, String> PAGES = new ConcurrentHashMap<>();
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static final AtomicInteger CACHED = new AtomicInteger();
+    private static final AtomicInteger EXECUTED = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(IncrementalRun::save, "incremental-save"));
+    }
+
+    /**
+     * Тест пропущен, потому что его отпечаток совпал с последним успешным прогоном.
+     */
+    public static final class CachedPass extends AssumptionViolatedException {
+        private static final long serialVersionUID = 1L;
+
+        public CachedPass(String fingerprint) {
+            super("cached-pass " + fingerprint);
+        }
+    }
+
+    private final Object test;
+    private final Supplier<List<String>> pages;
+    private final Supplier<List<Class<?>>> code;
+
+    /**
+     * Конструктор правила.
+     *
+     * @param test  Экземпляр теста: значения его полей считаются входными данными.
+     * @param pages Адреса страниц относительно адреса приложения, от которых зависит тест.
+     * @param code  Классы page object, от которых зависит тест (класс теста учитывается всегда).
+     */
+    public IncrementalRun(Object test, Supplier<List<String>> pages, Supplier<List<Class<?>>> code) {
+        this.test = test;
+        this.pages = pages;
+        this.code = code;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("incremental", false);
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        if (!isEnabled()) {
+            return base;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                String key = description.getDisplayName();
+                String fingerprint = fingerprint();
+                if (fingerprint != null && !TestConfig.getBoolean("incremental.force", false)
+                        && fingerprint.equals(GREEN.get(key))) {
+                    CACHED.incrementAndGet();
+                    throw new CachedPass(fingerprint.substring(0, 12));
+                }
+                EXECUTED.incrementAndGet();
+                TOUCHED.add(key);
+                try {
+                    base.evaluate();
+                } catch (Throwable failure) {
+                    GREEN.remove(key);
+                    throw failure;
+                }
+                if (fingerprint != null) {
+                    GREEN.put(key, fingerprint);
+                } else {
+                    GREEN.remove(key);
+                }
+            }
+        };
+    }
+
+    /**
+     * Возвращает общий отпечаток теста или null, если отпечаток страницы снять не удалось
+     * (тогда тест выполняется и в кэш не попадает).
+     */
+    public String fingerprint() throws IOException {
+        StringBuilder source = new StringBuilder();
+        for (String page : pages.get()) {
+            String pageFingerprint = pageFingerprint(page);
+            if (pageFingerprint == null) {
+                return null;
+            }
+            source.append("page ").append(page).append('=').append(pageFingerprint).append('\n');
+        }
+        for (Class<?> type = test.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            source.append("code ").append(type.getName()).append('=').append(classFingerprint(type)).append('\n');
+        }
+        for (Class<?> type : code.get()) {
+            source.append("code ").append(type.getName()).append('=').append(classFingerprint(type)).append('\n');
+        }
+        source.append("inputs=").append(inputs()).append('\n');
+        for (String key : RUN_CONFIG_KEYS) {
+            source.append("config ").append(key).append('=').append(TestConfig.get(key, "")).append('\n');
+        }
+        return sha256(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Отпечаток страницы: ETag либо хеш HTML, а также ETag или хеш каждого подключённого скрипта и стиля.
+     * Снимается один раз за прогон.
+     */
+    private static String pageFingerprint(String page) {
+        String url = URI.create(TestConfig.baseUrl()).resolve(page).toString();
+        String cached = PAGES.get(url);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            HttpResponse<byte[]> response = fetch(URI.create(url));
+            StringBuilder source = new StringBuilder(resourceFingerprint(response));
+            Matcher links = RESOURCE_LINK.matcher(new String(response.body(), StandardCharsets.UTF_8));
+            while (links.find()) {
+                // В отпечаток идёт ссылка как в HTML, без адреса стенда: у локального стенда меняется порт
+                source.append('\n').append(links.group(1)).append('=')
+                        .append(resourceFingerprint(fetch(URI.create(url).resolve(links.group(1)))));
+            }
+            String fingerprint = sha256(source.toString().getBytes(StandardCharsets.UTF_8));
+            PAGES.put(url, fingerprint);
+            return fingerprint;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("[Incremental] не удалось снять отпечаток " + url + ": " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static HttpResponse<byte[]> fetch(URI uri) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = CLIENT.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " для " + uri);
+        }
+        return response;
+    }
+
+    private static String resourceFingerprint(HttpResponse<byte[]> response) {
+        return response.headers().firstValue("ETag").orElseGet(() -> sha256(response.body()));
+    }
+
+    /**
+     * Хеш байт-кода класса вместе со всеми вложенными классами.
+     */
+    private static String classFingerprint(Class<?> type) throws IOException {
+        StringBuilder source = new StringBuilder();
+        String name = type.getName();
+        try (InputStream in = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+            source.append(in == null ? "?" : sha256(in.readAllBytes()));
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            source.append(',').append(classFingerprint(nested));
+        }
+        return sha256(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Значения полей экземпляра теста, объявленных в его классе: для параметризованных тестов это параметры.
+     */
+    private String inputs() {
+        LocalDate today = LocalDate.now();
+        Map<String, String> values = new TreeMap<>();
+        for (Field field : test.getClass().getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                values.put(field.getName(), inputValue(field.get(test), today));
+            } catch (IllegalAccessException e) {
+                values.put(field.getName(), "?");
+            }
+        }
+        return values.toString();
+    }
+
+    /**
+     * Значение входного параметра для отпечатка. Дата (LocalDate или строка {@code dd.MM.yyyy})
+     * заменяется смещением от текущего дня, например {@code today+3}; остальные значения — их строкой.
+     *
+     * @param value Значение поля теста.
+     * @param today Текущий день прогона.
+     */
+    public static String inputValue(Object value, LocalDate today) {
+        LocalDate date = null;
+        if (value instanceof LocalDate) {
+            date = (LocalDate) value;
+        } else if (value instanceof String) {
+            try {
+                date = LocalDate.parse((String) value, INPUT_DATE);
+            } catch (DateTimeParseException e) {
+                // Не дата — учитываем как есть
+            }
+        }
+        if (date == null) {
+            return String.valueOf(value);
+        }
+        long days = ChronoUnit.DAYS.between(today, date);
+        return "today" + (days < 0 ? "" : "+") + days;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> load() {
+        Map<String, String> green = new ConcurrentHashMap<>();
+        try {
+            green.putAll(HistoryFile.read(FILE));
+        } catch (IOException e) {
+            System.err.println("[Incremental] не удалось прочитать " + FILE + ": " + e.getMessage());
+        }
+        return green;
+    }
+
+    /**
+     * Сохраняет отпечатки через {@link HistoryFile}: в перечитанном файле меняются только тесты,
+     * выполненные в этом прогоне, так шарды не затирают отпечатки друг друга.
+     */
+    private static void save() {
+        if (CACHED.get() + EXECUTED.get() == 0) {
+            return;
+        }
+        System.out.println("[Incremental] cached=" + CACHED.get() + ", executed=" + EXECUTED.get());
+        try {
+            HistoryFile.update(FILE, "Отпечатки тестов последнего успешного прогона", values -> {
+                for (String key : TOUCHED) {
+                    String fingerprint = GREEN.get(key);
+                    if (fingerprint == null) {
+                        values.remove(key);
+                    } else {
+                        values.put(key, fingerprint);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("[Incremental] не удалось записать " + FILE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package support;
+
+import java.net.ConnectException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Правило JUnit, повторяющее тест при сбое инфраструктуры: потерянной сессии, недоступном браузере
+ * или таймауте загрузки страницы. Ошибки проверок и обычные таймауты ожиданий не повторяются.
+ * Число повторов задаётся свойством {@code retry.infra.max} (по умолчанию 0 — без повторов).
+ * Каждая повторённая попытка записывается в {@link ResultCollector} отдельно, со статусом RETRIED.
+ * Правило должно оборачивать выдачу сессии, чтобы повтор получил из пула другую сессию.
+ */
+public final class InfraRetry implements TestRule {
+
+    private static final AtomicInteger RETRIES = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (RETRIES.get() > 0) {
+                System.out.println("[InfraRetry] retries=" + RETRIES.get());
+            }
+        }, "infra-retry-report"));
+    }
+
+    private final int maxRetries;
+
+    public InfraRetry() {
+        this(TestConfig.getInt("retry.infra.max", 0));
+    }
+
+    public InfraRetry(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Возвращает true, если ошибка вызвана сбоем инфраструктуры, а не поведением приложения.
+     */
+    public static boolean isInfrastructure(Throwable failure) {
+        if (failure instanceof MultipleFailureException) {
+            for (Throwable each : ((MultipleFailureException) failure).getFailures()) {
+                if (isInfrastructure(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchSessionException
+                    || cause instanceof SessionNotCreatedException
+                    || cause instanceof UnreachableBrowserException
+                    || cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause instanceof TimeoutException && isPageLoad(cause)) {
+                return true;
+            }
+            if (cause instanceof WebDriverException && String.valueOf(cause.getMessage()).contains("not reachable")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                for (int attempt = 0; ; attempt++) {
+                    long start = System.nanoTime();
+                    try {
+                        base.evaluate();
+                        return;
+                    } catch (AssumptionViolatedException e) {
+                        throw e;
+                    } catch (Throwable failure) {
+                        if (attempt >= maxRetries || !isInfrastructure(failure)) {
+                            throw failure;
+                        }
+                        RETRIES.incrementAndGet();
+                        ResultCollector.shared().record(description.getClassName(), description.getMethodName(),
+                                ResultCollector.Status.RETRIED, (System.nanoTime() - start) / 1_000_000,
+                                String.valueOf(failure));
+                        System.out.println("[InfraRetry] " + description.getDisplayName() + ": попытка "
+                                + (attempt + 2) + " из " + (maxRetries + 1) + " после " + failure);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Таймаут загрузки страницы отличается от таймаута ожидания тем, что брошен командой перехода.
+     */
+    private static boolean isPageLoad(Throwable timeout) {
+        for (StackTraceElement frame : timeout.getStackTrace()) {
+            if (frame.getClassName().equals("org.openqa.selenium.remote.RemoteWebDriver")
+                    && frame.getMethodName().equals("get")) {
+                return true;
+            }
+        }
+        return String.valueOf(timeout.getMessage()).contains("receiving message from renderer");
+    }
+}
@@ -0,0 +1,127 @@
+package support;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * Потокобезопасный накопитель замеров длительности команд браузера и ожиданий.
+ * Замеры группируются по тегу (методу page object или теста) и команде.
+ * При завершении JVM по каждой группе рассчитываются перцентили p50/p95/p99 и максимум,
+ * которые печатаются в консоль и записываются в latency.json и latency.csv.
+ */
+public final class LatencyRecorder {
+
+    private static final LatencyRecorder SHARED = new LatencyRecorder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::report, "latency-recorder-report"));
+    }
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+
+    public static LatencyRecorder shared() {
+        return SHARED;
+    }
+
+    /**
+     * Добавляет замер. Замер также попадает в хронологию текущего потока {@link TimingTrail}.
+     *
+     * @param tag     Источник команды, например "OrderPage.clickOrderButton".
+     * @param command Команда, например "findElement" или "wait".
+     * @param nanos   Длительность в наносекундах.
+     */
+    public void record(String tag, String command, long nanos) {
+        samples.computeIfAbsent(tag + "\t" + command, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+        TimingTrail.add(tag, command, nanos);
+    }
+
+    /**
+     * Возвращает отсортированные замеры по каждой группе «тег, команда».
+     */
+    public Map<String, List<Long>> snapshot() {
+        Map<String, List<Long>> result = new TreeMap<>();
+        samples.forEach((key, values) -> {
+            List<Long> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            result.put(key, sorted);
+        });
+        return result;
+    }
+
+    /**
+     * Возвращает сводку по группам: тег, команда, количество, p50, p95, p99 и максимум в миллисекундах.
+     */
+    public List<Map<String, Object>> summary() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        snapshot().forEach((key, sorted) -> {
+            String[] parts = key.split("\t", 2);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("tag", parts[0]);
+            row.put("command", parts[1]);
+            row.put("count", sorted.size());
+            row.put("p50", millis(percentile(sorted, 50)));
+            row.put("p95", millis(percentile(sorted, 95)));
+            row.put("p99", millis(percentile(sorted, 99)));
+            row.put("max", millis(sorted.get(sorted.size() - 1)));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    /**
+     * Возвращает значение перцентиля (0–100) из отсортированного списка замеров.
+     */
+    public static long percentile(List<Long> sorted, double percent) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, rank - 1)));
+    }
+
+    /**
+     * Печатает сводку и записывает её в latency.json и latency.csv в каталоге отчётов.
+     */
+    public void report() {
+        List<Map<String, Object>> rows = summary();
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (Map<String, Object> row : rows) {
+            System.out.println(String.format("[Latency] %s %s: count=%s, p50=%s ms, p95=%s ms, p99=%s ms, max=%s ms",
+                    row.get("tag"), row.get("command"), row.get("count"),
+                    row.get("p50"), row.get("p95"), row.get("p99"), row.get("max")));
+        }
+        Path dir = TestConfig.outputDir();
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("latency.json"), new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve("latency.csv"), StandardCharsets.UTF_8))) {
+                out.println("tag,command,count,p50,p95,p99,max");
+                for (Map<String, Object> row : rows) {
+                    out.println(row.get("tag") + "," + row.get("command") + "," + row.get("count") + ","
+                            + row.get("p50") + "," + row.get("p95") + "," + row.get("p99") + "," + row.get("max"));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[Latency] не удалось записать отчёт в " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
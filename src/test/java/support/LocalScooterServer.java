@@ -0,0 +1,252 @@
+package support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * Встроенный HTTP-сервер — локальная замена qa-scooter.praktikum-services.ru.
+ * Отдаёт сохранённые копии главной страницы и страницы заказа из ресурсов {@code stand/},
+ * а также упрощённое API: поиск станций метро и создание заказа с выдачей номера.
+ * Тесты переключаются на него свойством {@code -Dscooter.target=local}.
+ */
+public final class LocalScooterServer {
+
+    private static final String RESOURCE_ROOT = "stand/";
+    private static final List<String> REQUIRED_ORDER_FIELDS = Arrays.asList(
+            "firstName", "lastName", "address", "metroStation", "phone", "rentTime", "deliveryDate");
+
+    private static LocalScooterServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<String> stations;
+    private final AtomicInteger nextTrack = new AtomicInteger(100000);
+    private final AtomicInteger createdOrders = new AtomicInteger();
+    private final AtomicInteger rejectedOrders = new AtomicInteger();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Создаёт сервер на указанном порту (0 — любой свободный). Сервер нужно запустить методом {@link #start()}.
+     */
+    public LocalScooterServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-scooter-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.stations = stationNames();
+        server.createContext("/", this::handlePage);
+        server.createContext("/static/", this::handleStatic);
+        server.createContext("/api/v1/stations/search", this::handleStations);
+        server.createContext("/api/v1/orders", this::handleOrders);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Возвращает общий сервер, запуская его при первом обращении.
+     * Сервер останавливается при завершении JVM.
+     */
+    public static synchronized LocalScooterServer shared() {
+        if (shared == null) {
+            try {
+                LocalScooterServer server = new LocalScooterServer(TestConfig.getInt("scooter.local.port", 0));
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "local-scooter-stop"));
+                shared = server;
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось запустить локальный сервер приложения", e);
+            }
+        }
+        return shared;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Останавливает сервер. Повторный вызов ничего не делает.
+     */
+    public void stop() {
+        if (stopped.compareAndSet(false, true)) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Возвращает адрес главной страницы, например {@code http://127.0.0.1:54321/}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public int getCreatedOrders() {
+        return createdOrders.get();
+    }
+
+    public int getRejectedOrders() {
+        return rejectedOrders.get();
+    }
+
+    /**
+     * Возвращает список станций метро, известных серверу.
+     */
+    public static List<String> stationNames() {
+        String text = new String(readResource("metro-stations.txt"), StandardCharsets.UTF_8);
+        List<String> names = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (!line.trim().isEmpty()) {
+                names.add(line.trim());
+            }
+        }
+        return names;
+    }
+
+    // ******************** ОБРАБОТЧИКИ ********************
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        // Приложение одностраничное: все известные маршруты отдают свою копию страницы
+        if (path.equals("/") || path.equals("/index.html")) {
+            send(exchange, 200, "text/html; charset=utf-8", readResource("index.html"));
+        } else if (path.equals("/order") || path.startsWith("/order/")) {
+            send(exchange, 200, "text/html; charset=utf-8", readResource("order.html"));
+        } else {
+            sendText(exchange, 404, "text/plain; charset=utf-8", "Not found");
+        }
+    }
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        String name = exchange.getRequestURI().getPath().substring("/static/".length());
+        byte[] body = name.contains("..") ? null : readResourceOrNull(name);
+        if (body == null) {
+            sendText(exchange, 404, "text/plain; charset=utf-8", "Not found");
+        } else {
+            send(exchange, 200, contentType(name), body);
+        }
+    }
+
+    private void handleStations(HttpExchange exchange) throws IOException {
+        String query = queryParameter(exchange.getRequestURI(), "s").toLowerCase(Locale.ROOT);
+        List<Map<String, Object>> found = new ArrayList<>();
+        for (int i = 0; i < stations.size(); i++) {
+            if (stations.get(i).toLowerCase(Locale.ROOT).contains(query)) {
+                Map<String, Object> station = new LinkedHashMap<>();
+                station.put("number", String.valueOf(i + 1));
+                station.put("name", stations.get(i));
+                found.add(station);
+            }
+        }
+        sendText(exchange, 200, "application/json; charset=utf-8", new Json().toJson(found));
+    }
+
+    /**
+     * Имитация POST /api/v1/orders: проверяет обязательные поля и возвращает номер заказа.
+     */
+    private void handleOrders(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendText(exchange, 405, "text/plain; charset=utf-8", "Method not allowed");
+            return;
+        }
+        Map<String, Object> order;
+        try (InputStream in = exchange.getRequestBody()) {
+            order = new Json().toType(new String(in.readAllBytes(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (JsonException e) {
+            order = null;
+        }
+        if (order == null || !hasRequiredFields(order)) {
+            rejectedOrders.incrementAndGet();
+            sendText(exchange, 400, "application/json; charset=utf-8",
+                    "{\"code\":400,\"message\":\"Недостаточно данных для создания заказа\"}");
+            return;
+        }
+        createdOrders.incrementAndGet();
+        sendText(exchange, 201, "application/json; charset=utf-8", "{\"track\":" + nextTrack.incrementAndGet() + "}");
+    }
+
+    private static boolean hasRequiredFields(Map<String, Object> order) {
+        for (String field : REQUIRED_ORDER_FIELDS) {
+            Object value = order.get(field);
+            if (value == null || String.valueOf(value).trim().isEmpty() || "0".equals(String.valueOf(value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ******************** ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ********************
+
+    private static void sendText(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        send(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        } else if (name.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        } else if (name.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        }
+        return "application/octet-stream";
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getQuery();
+        if (query == null) {
+            return "";
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return "";
+    }
+
+    private static byte[] readResource(String name) {
+        byte[] body = readResourceOrNull(name);
+        if (body == null) {
+            throw new IllegalStateException("Не найден ресурс " + RESOURCE_ROOT + name);
+        }
+        return body;
+    }
+
+    private static byte[] readResourceOrNull(String name) {
+        try (InputStream in = LocalScooterServer.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + name)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Профиль загрузки страниц: какие ресурсы блокировать и когда считать страницу загруженной.
+ * <ul>
+ *     <li>{@code fast} (по умолчанию) — стратегия загрузки eager (ждём DOMContentLoaded, а не все картинки),
+ *     через Chrome DevTools Protocol блокируются картинки, шрифты, медиа и сторонние счётчики;</li>
+ *     <li>{@code fidelity} — страница грузится полностью, как у пользователя; для визуальных проверок.</li>
+ * </ul>
+ * Профиль выбирается свойством {@code net.profile}. Состав блокировки настраивается свойствами
+ * {@code net.block.types} (image, font, media) и {@code net.block.patterns} (шаблоны URL через запятую),
+ * стратегия загрузки — {@code page.load.strategy} (normal, eager, none).
+ */
+public final class NetworkProfile {
+
+    public static final String FAST = "fast";
+    public static final String FIDELITY = "fidelity";
+
+    // Шаблоны URL для каждого типа ресурсов
+    private static final Map<String, List<String>> TYPE_PATTERNS = new LinkedHashMap<>();
+
+    static {
+        TYPE_PATTERNS.put("image", Arrays.asList("*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.webp", "*.ico"));
+        TYPE_PATTERNS.put("font", Arrays.asList("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot"));
+        TYPE_PATTERNS.put("media", Arrays.asList("*.mp4", "*.webm", "*.mp3", "*.ogg"));
+    }
+
+    // Сторонние скрипты, не нужные тестам
+    private static final String DEFAULT_BLOCKED_PATTERNS =
+            "*mc.yandex.ru*,*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*";
+
+    private NetworkProfile() {
+    }
+
+    /**
+     * Возвращает имя текущего профиля.
+     */
+    public static String name() {
+        return FIDELITY.equalsIgnoreCase(TestConfig.get("net.profile", FAST)) ? FIDELITY : FAST;
+    }
+
+    /**
+     * Возвращает true, если блокировка ресурсов включена.
+     */
+    public static boolean isBlocking() {
+        return FAST.equals(name());
+    }
+
+    /**
+     * Настраивает стратегию загрузки страниц в параметрах браузера.
+     */
+    public static void configure(ChromeOptions options) {
+        String defaultStrategy = isBlocking() ? "eager" : "normal";
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(TestConfig.get("page.load.strategy", defaultStrategy)));
+    }
+
+    /**
+     * Включает блокировку ресурсов в запущенном браузере. Вызывается до первого перехода.
+     */
+    public static void apply(WebDriver driver) {
+        List<String> patterns = blockedPatterns();
+        if (patterns.isEmpty() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Collections.emptyMap());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Collections.singletonMap("urls", patterns));
+    }
+
+    /**
+     * Возвращает шаблоны URL, которые будут заблокированы в текущем профиле.
+     */
+    public static List<String> blockedPatterns() {
+        List<String> patterns = new ArrayList<>();
+        if (!isBlocking()) {
+            return patterns;
+        }
+        for (String type : TestConfig.get("net.block.types", "image,font,media").split(",")) {
+            patterns.addAll(TYPE_PATTERNS.getOrDefault(type.trim().toLowerCase(), Collections.emptyList()));
+        }
+        for (String pattern : TestConfig.get("net.block.patterns", DEFAULT_BLOCKED_PATTERNS).split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        return patterns;
+    }
+}
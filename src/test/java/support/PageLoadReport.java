@@ -0,0 +1,96 @@
+package support;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Время загрузки страниц по профилю {@link NetworkProfile}.
+ * Прогон в профиле fidelity сохраняет средние значения как базовую линию,
+ * прогон в профиле fast сравнивает с ней и показывает, сколько времени сэкономлено на каждой странице.
+ * Замеры и базовая линия разделяются по хосту приложения (встроенная копия, стенд), чтобы прогон
+ * против одного адреса не сравнивался с базовой линией другого.
+ * Результаты пишутся в page-load.csv в каталоге отчётов.
+ */
+public final class PageLoadReport {
+
+    private static final Map<String, ConcurrentLinkedQueue<Long>> SAMPLES = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PageLoadReport::report, "page-load-report"));
+    }
+
+    private PageLoadReport() {
+    }
+
+    /**
+     * Добавляет замер загрузки страницы.
+     *
+     * @param url   Адрес страницы; в отчёте учитываются хост (без порта) и путь.
+     * @param nanos Время, которое заняла команда перехода.
+     */
+    public static void record(String url, long nanos) {
+        URI uri = URI.create(url);
+        String path = uri.getPath();
+        // Ключ вида «хост/путь»: порт встроенной копии меняется от прогона к прогону
+        SAMPLES.computeIfAbsent(uri.getHost() + (path == null || path.isEmpty() ? "/" : path),
+                k -> new ConcurrentLinkedQueue<>()).add(nanos);
+    }
+
+    private static void report() {
+        if (SAMPLES.isEmpty()) {
+            return;
+        }
+        String profile = NetworkProfile.name();
+        Path baselineFile = TestConfig.historyDir().resolve("page-load-baseline.properties");
+        Map<String, String> baseline = load(baselineFile);
+
+        Map<String, Double> means = new TreeMap<>();
+        SAMPLES.forEach((page, values) -> means.put(page,
+                values.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0));
+
+        Path file = TestConfig.outputDir().resolve("page-load.csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                out.println("profile,target,page,count,meanMillis,baselineMillis,savedMillis");
+                for (Map.Entry<String, Double> entry : means.entrySet()) {
+                    String key = entry.getKey();
+                    String target = key.substring(0, key.indexOf('/'));
+                    String page = key.substring(key.indexOf('/'));
+                    double mean = entry.getValue();
+                    String base = baseline.get(key);
+                    String saved = base == null ? "" : String.format(Locale.ROOT, "%.1f", Double.parseDouble(base) - mean);
+                    out.println(String.join(",", profile, target, page, String.valueOf(SAMPLES.get(key).size()),
+                            String.format(Locale.ROOT, "%.1f", mean), base == null ? "" : base, saved));
+                    System.out.println("[PageLoad] " + profile + " " + key + ": mean=" + String.format(Locale.ROOT, "%.1f", mean)
+                            + " ms" + (base == null ? "" : ", saved=" + saved + " ms vs fidelity"));
+                }
+            }
+            if (NetworkProfile.FIDELITY.equals(profile)) {
+                // Шарды пишут базовую линию одновременно: каждый обновляет только свои страницы
+                HistoryFile.update(baselineFile, "Среднее время загрузки страниц в профиле fidelity, мс",
+                        values -> means.forEach((page, mean) -> values.put(page, String.format(Locale.ROOT, "%.1f", mean))));
+            }
+        } catch (IOException e) {
+            System.err.println("[PageLoad] не удалось записать отчёт: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> load(Path file) {
+        try {
+            return HistoryFile.read(file);
+        } catch (IOException e) {
+            System.err.println("[PageLoad] не удалось прочитать " + file + ": " + e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Parameterized;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
+
+/**
+ * Раннер параметризованных тестов с параллельным выполнением случаев.
+ * Количество потоков задаётся свойством {@code test.workers}; при значении 1
+ * (по умолчанию) случаи выполняются последовательно, как в обычном {@link Parameterized}.
+ * Каждый поток получает собственную сессию браузера из {@link DriverPool}.
+ * <p>
+ * Потоки общие для всех классов JVM. Случаи попадают в общую очередь по убыванию ожидаемой
+ * длительности из {@link DurationHistory}: самые долгие стартуют первыми, а освободившийся поток
+ * сразу забирает следующий случай из очереди — за потоками ничего не закрепляется заранее,
+ * поэтому потоки заканчивают работу примерно одновременно.
+ * При завершении JVM печатается загрузка потоков и насколько равномерно она распределилась.
+ * <p>
+ * При разбиении на шарды ({@code shard.count} больше 1, см. {@link Sharding}) раннер оставляет
+ * только случаи текущего шарда.
+ */
+public class ParallelParameterized extends Parameterized {
+
+    private static ThreadPoolExecutor workers;
+    // Сколько миллисекунд каждый поток был занят тестами
+    private static final Map<String, AtomicLong> BUSY_MILLIS = new ConcurrentHashMap<>();
+    private static final AtomicLong FIRST_START = new AtomicLong();
+    private static final AtomicLong LAST_FINISH = new AtomicLong();
+
+    private final String className;
+    private DurationScheduler scheduler;
+
+    public ParallelParameterized(Class<?> klass) throws Throwable {
+        super(klass);
+        this.className = klass.getName();
+        if (Sharding.isEnabled()) {
+            keepOwnShard();
+        }
+        if (TestConfig.workers() > 1) {
+            scheduler = new DurationScheduler(workers());
+            setScheduler(scheduler);
+        }
+    }
+
+    /**
+     * Перед запуском случаев передаёт планировщику их описания: случаи планируются
+     * в том же порядке, в каком перечислены в описании раннера (с учётом фильтров).
+     */
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        if (scheduler != null) {
+            List<String> keys = new ArrayList<>();
+            for (Description child : getDescription().getChildren()) {
+                keys.add(className + child.getDisplayName());
+            }
+            scheduler.expect(keys);
+        }
+        return super.childrenInvoker(notifier);
+    }
+
+    /**
+     * Оставляет случаи текущего шарда. Методы внутри случая не фильтруются.
+     */
+    private void keepOwnShard() {
+        try {
+            filter(new Filter() {
+                @Override
+                public boolean shouldRun(Description description) {
+                    return !description.isSuite() || Sharding.owns(className + description.getDisplayName());
+                }
+
+                @Override
+                public String describe() {
+                    return "shard " + Sharding.index() + "/" + Sharding.count();
+                }
+            });
+        } catch (NoTestsRemainException e) {
+            // В этом шарде нет случаев класса — класс выполнится без тестов
+        }
+    }
+
+    /**
+     * Возвращает общий пул потоков с очередью по приоритету, создавая его при первом обращении.
+     */
+    private static synchronized ThreadPoolExecutor workers() {
+        if (workers == null) {
+            int size = TestConfig.workers();
+            AtomicInteger counter = new AtomicInteger();
+            workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "test-worker-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            // Потоки запускаются заранее, чтобы каждый случай проходил через очередь с приоритетом
+            workers.prestartAllCoreThreads();
+            Runtime.getRuntime().addShutdownHook(new Thread(ParallelParameterized::reportBalance, "worker-balance-report"));
+        }
+        return workers;
+    }
+
+    /**
+     * Печатает загрузку потоков: время работы каждого и отношение средней загрузки к максимальной
+     * (100% — все потоки закончили одновременно).
+     */
+    private static void reportBalance() {
+        if (BUSY_MILLIS.isEmpty()) {
+            return;
+        }
+        long max = 0;
+        long total = 0;
+        for (Map.Entry<String, AtomicLong> entry : BUSY_MILLIS.entrySet()) {
+            max = Math.max(max, entry.getValue().get());
+            total += entry.getValue().get();
+        }
+        // Потоки, не получившие ни одного случая, тоже учитываются как простаивающие
+        int size = Math.max(BUSY_MILLIS.size(), TestConfig.workers());
+        long mean = total / size;
+        System.out.println("[Scheduler] workers=" + size + ", wall=" + (LAST_FINISH.get() - FIRST_START.get()) / 1_000_000
+                + " ms, busy max=" + max + " ms, mean=" + mean + " ms, balance="
+                + (max == 0 ? 100 : mean * 100 / max) + "%");
+        new TreeMap<>(BUSY_MILLIS).forEach((thread, millis) ->
+                System.out.println("[Scheduler] " + thread + ": " + millis.get() + " ms"));
+    }
+
+    /**
+     * Случай, ожидающий выполнения. Сравнивается по ожидаемой длительности (долгие раньше),
+     * при равенстве — по порядку постановки в очередь.
+     */
+    private static final class Task extends FutureTask<Void> implements Comparable<Task> {
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        private final long estimateMillis;
+        private final long sequence = SEQUENCE.getAndIncrement();
+
+        Task(Runnable statement, long estimateMillis) {
+            super(() -> {
+                long start = System.nanoTime();
+                FIRST_START.compareAndSet(0, start);
+                try {
+                    statement.run();
+                } finally {
+                    long finish = System.nanoTime();
+                    LAST_FINISH.accumulateAndGet(finish, Math::max);
+                    BUSY_MILLIS.computeIfAbsent(Thread.currentThread().getName(), k -> new AtomicLong())
+                            .addAndGet((finish - start) / 1_000_000);
+                }
+            }, null);
+            this.estimateMillis = estimateMillis;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byEstimate = Long.compare(other.estimateMillis, estimateMillis);
+            return byEstimate != 0 ? byEstimate : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Планировщик одного класса: ставит его случаи в общую очередь с оценкой длительности
+     * и дожидается их завершения.
+     */
+    private static final class DurationScheduler implements RunnerScheduler {
+        private final ThreadPoolExecutor executor;
+        private final List<Task> tasks = new ArrayList<>();
+        private List<String> keys = new ArrayList<>();
+
+        DurationScheduler(ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        void expect(List<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            int index = tasks.size();
+            long estimate = index < keys.size() ? DurationHistory.shared().estimate(keys.get(index)) : 0;
+            tasks.add(new Task(childStatement, estimate));
+        }
+
+        @Override
+        public void finished() {
+            // Ставим случаи в очередь от долгих к коротким: свободный поток может забрать случай
+            // ещё до того, как в очередь попадут остальные
+            List<Task> ordered = new ArrayList<>(tasks);
+            Collections.sort(ordered);
+            ordered.forEach(executor::execute);
+            try {
+                for (Task task : tasks) {
+                    task.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Ошибки тестов уже переданы в RunNotifier; сюда попадают только сбои раннера
+                throw new IllegalStateException("Сбой при параллельном выполнении тестов", e.getCause());
+            } finally {
+                tasks.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Проверка фронтенд-метрик приложения на ключевых шагах сценария против бюджетов.
+ * На каждом шаге через JavascriptExecutor читаются Navigation Timing, Paint Timing,
+ * LCP и CLS (PerformanceObserver с buffered) и Resource Timing текущего документа.
+ * <p>
+ * Бюджеты задаются в ресурсе {@code perf/budgets.properties} ключами {@code <шаг>.<метрика>=<максимум>};
+ * отдельное значение можно переопределить свойством {@code perf.budget.<шаг>.<метрика>}.
+ * Режим — свойство {@code perf.mode}: {@code warn} (по умолчанию) печатает превышения,
+ * {@code enforce} роняет тест при превышении (профиль {@code mvn test -Pperf}), {@code off} ничего не замеряет.
+ * Все замеры дописываются в {@code .test-history/perf-trend.csv}.
+ */
+public final class PerformanceBudget {
+
+    /**
+     * Режим проверки бюджетов.
+     */
+    public enum Mode {
+        OFF, WARN, ENFORCE
+    }
+
+    // Метрики документа на момент шага; время в миллисекундах от начала навигации, CLS — без единиц
+    private static final String METRICS_SCRIPT =
+            "var done = arguments[arguments.length - 1], observeMs = arguments[0];"
+            + "var result = {lcp: 0, cls: 0}, observers = [];"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (nav) { result.ttfb = nav.responseStart; result.domContentLoaded = nav.domContentLoadedEventEnd;"
+            + "  result.load = nav.loadEventEnd; }"
+            + "performance.getEntriesByType('paint').forEach(function (e) {"
+            + "  if (e.name === 'first-paint') { result.fp = e.startTime; }"
+            + "  if (e.name === 'first-contentful-paint') { result.fcp = e.startTime; } });"
+            + "var resources = performance.getEntriesByType('resource');"
+            + "result.resources = resources.length;"
+            + "result.transferKb = resources.reduce(function (s, r) { return s + (r.transferSize || 0); }, 0) / 1024;"
+            + "result.slowestResource = resources.reduce(function (m, r) { return Math.max(m, r.duration); }, 0);"
+            + "result.elapsed = performance.now();"
+            + "function collect(e) {"
+            + "  if (e.entryType === 'largest-contentful-paint') { result.lcp = Math.max(result.lcp, e.startTime); }"
+            + "  if (e.entryType === 'layout-shift' && !e.hadRecentInput) { result.cls += e.value; } }"
+            + "['largest-contentful-paint', 'layout-shift'].forEach(function (type) {"
+            + "  try {"
+            + "    var o = new PerformanceObserver(function (list) { list.getEntries().forEach(collect); });"
+            + "    o.observe({type: type, buffered: true}); o.takeRecords().forEach(collect); observers.push(o);"
+            + "  } catch (e) {} });"
+            + "setTimeout(function () { observers.forEach(function (o) { o.takeRecords().forEach(collect); o.disconnect(); });"
+            + "  done(result); }, observeMs);";
+
+    private static final Properties BUDGETS = loadBudgets();
+    private static final Queue<String> TREND = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger CHECKS = new AtomicInteger();
+    private static final AtomicInteger VIOLATIONS = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PerformanceBudget::writeTrend, "perf-trend-write"));
+    }
+
+    private final WebDriver driver;
+    private final String test;
+    private final Mode mode;
+
+    /**
+     * Конструктор.
+     *
+     * @param driver Сессия браузера.
+     * @param test   Имя случая для файла трендов, например "OrderTest.testOrderFlow[0]".
+     */
+    public PerformanceBudget(WebDriver driver, String test) {
+        this.driver = driver;
+        this.test = test;
+        this.mode = mode();
+    }
+
+    public static Mode mode() {
+        return Mode.valueOf(TestConfig.get("perf.mode", "warn").toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Снимает метрики на шаге сценария и сверяет их с бюджетами шага.
+     *
+     * @param step Шаг: home, orderStepOne, orderStepTwo или confirmation.
+     * @throws AssertionError в режиме enforce, если хотя бы один бюджет превышен.
+     */
+    public void check(String step) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Map<String, Double> metrics = measure();
+        CHECKS.incrementAndGet();
+        List<String> exceeded = new ArrayList<>();
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            Double budget = budget(step, metric.getKey());
+            boolean over = budget != null && metric.getValue() > budget;
+            if (over) {
+                exceeded.add(metric.getKey() + "=" + format(metric.getValue()) + " > " + format(budget));
+            }
+            TREND.add(String.join(",", Instant.now().toString(), TestConfig.baseUrl(), NetworkProfile.name(),
+                    ResultCollector.csv(test), step, metric.getKey(), format(metric.getValue()),
+                    budget == null ? "" : format(budget), over ? "OVER" : "OK"));
+        }
+        if (exceeded.isEmpty()) {
+            return;
+        }
+        VIOLATIONS.addAndGet(exceeded.size());
+        String message = "Превышен бюджет производительности на шаге " + step + ": " + String.join(", ", exceeded);
+        if (mode == Mode.ENFORCE) {
+            throw new AssertionError(message);
+        }
+        System.out.println("[PerfBudget] " + test + ": " + message);
+    }
+
+    /**
+     * Читает метрики текущего документа. Метрики, которых ещё нет (например, load при стратегии eager), пропускаются.
+     */
+    private Map<String, Double> measure() {
+        Object raw;
+        try {
+            raw = ((JavascriptExecutor) driver).executeAsyncScript(METRICS_SCRIPT,
+                    TestConfig.getInt("perf.observe.ms", 50));
+        } catch (WebDriverException e) {
+            System.err.println("[PerfBudget] не удалось снять метрики: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        if (raw instanceof Map) {
+            ((Map<?, ?>) raw).forEach((key, value) -> {
+                if (value instanceof Number && (((Number) value).doubleValue() > 0 || "cls".equals(key))) {
+                    metrics.put(String.valueOf(key), ((Number) value).doubleValue());
+                }
+            });
+        }
+        return metrics;
+    }
+
+    private static Double budget(String step, String metric) {
+        String key = step + "." + metric;
+        String value = TestConfig.get("perf.budget." + key, BUDGETS.getProperty(key));
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        String resource = TestConfig.get("perf.budgets", "perf/budgets.properties");
+        InputStream in = PerformanceBudget.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            System.err.println("[PerfBudget] не найден файл бюджетов " + resource + ", проверяются только метрики");
+            return budgets;
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            budgets.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось прочитать " + resource, e);
+        }
+        return budgets;
+    }
+
+    /**
+     * Дописывает замеры прогона в файл трендов и печатает сводку.
+     */
+    private static void writeTrend() {
+        if (TREND.isEmpty()) {
+            return;
+        }
+        System.out.println("[PerfBudget] mode=" + mode().name().toLowerCase(Locale.ROOT) + ", checks=" + CHECKS.get()
+                + ", violations=" + VIOLATIONS.get());
+        Path file = TestConfig.historyDir().resolve("perf-trend.csv");
+        try {
+            Files.createDirectories(file.getParent());
+            boolean fresh = !Files.exists(file);
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (fresh) {
+                    out.println("time,target,netProfile,test,step,metric,value,budget,status");
+                }
+                TREND.forEach(out::println);
+            }
+        } catch (IOException e) {
+            System.err.println("[PerfBudget] не удалось записать " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String format(double value) {
+        return String.valueOf(Math.round(value * 1000) / 1000.0);
+    }
+}
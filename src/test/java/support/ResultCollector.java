@@ -0,0 +1,253 @@
+package support;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Потокобезопасный сборщик результатов тестов.
+ * Тесты из разных потоков добавляют результаты через правило {@link #watcher()};
+ * при завершении JVM сводка печатается в консоль и записывается в results.csv и junit.xml,
+ * а длительности случаев сохраняются в {@link DurationHistory} для планирования следующих прогонов.
+ */
+public final class ResultCollector {
+
+    private static final ResultCollector SHARED = new ResultCollector();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::report, "result-collector-report"));
+    }
+
+    /**
+     * Итог выполнения теста.
+     */
+    public enum Status {
+        PASSED,
+        // Тест упал из-за поведения приложения
+        FAILED,
+        // Тест упал из-за сбоя инфраструктуры (см. InfraRetry.isInfrastructure)
+        BROKEN,
+        SKIPPED,
+        // Не запускался: отпечаток совпал с последним успешным прогоном (см. IncrementalRun)
+        CACHED,
+        // Попытка, после которой тест был повторён из-за сбоя инфраструктуры
+        RETRIED
+    }
+
+    /**
+     * Результат одного теста.
+     */
+    public static final class Result {
+        public final String testClass;
+        public final String testName;
+        public final String thread;
+        public final Status status;
+        public final long durationMillis;
+        public final String message;
+
+        /**
+         * Открыт для проверок истории длительностей без прогона тестов.
+         */
+        public Result(String testClass, String testName, String thread, Status status, long durationMillis,
+                      String message) {
+            this.testClass = testClass;
+            this.testName = testName;
+            this.thread = thread;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.message = message;
+        }
+    }
+
+    private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+
+    private ResultCollector() {
+    }
+
+    public static ResultCollector shared() {
+        return SHARED;
+    }
+
+    /**
+     * Возвращает правило JUnit, записывающее результат и длительность теста
+     * (включая @Before и @After) в сборщик.
+     */
+    public TestWatcher watcher() {
+        return new TestWatcher() {
+            private long startNanos;
+
+            @Override
+            protected void starting(Description description) {
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            protected void succeeded(Description description) {
+                add(description, Status.PASSED, null);
+            }
+
+            @Override
+            protected void failed(Throwable e, Description description) {
+                add(description, InfraRetry.isInfrastructure(e) ? Status.BROKEN : Status.FAILED,
+                        String.valueOf(e.getMessage()));
+            }
+
+            @Override
+            protected void skipped(AssumptionViolatedException e, Description description) {
+                add(description, e instanceof IncrementalRun.CachedPass ? Status.CACHED : Status.SKIPPED,
+                        e.getMessage());
+            }
+
+            private void add(Description description, Status status, String message) {
+                long millis = (System.nanoTime() - startNanos) / 1_000_000;
+                record(description.getClassName(), description.getMethodName(), status, millis, message);
+            }
+        };
+    }
+
+    /**
+     * Добавляет результат теста. Метод можно вызывать из любого потока.
+     */
+    public void record(String testClass, String testName, Status status, long durationMillis, String message) {
+        results.add(new Result(testClass, testName, Thread.currentThread().getName(), status, durationMillis, message));
+    }
+
+    /**
+     * Возвращает снимок накопленных результатов.
+     */
+    public List<Result> results() {
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Печатает сводку и записывает все результаты в results.csv и junit.xml.
+     */
+    public void report() {
+        List<Result> snapshot = results();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        long passed = snapshot.stream().filter(r -> r.status == Status.PASSED).count();
+        long failed = snapshot.stream().filter(r -> r.status == Status.FAILED).count();
+        long broken = snapshot.stream().filter(r -> r.status == Status.BROKEN).count();
+        long retried = snapshot.stream().filter(r -> r.status == Status.RETRIED).count();
+        long cached = snapshot.stream().filter(r -> r.status == Status.CACHED).count();
+        long threads = snapshot.stream().map(r -> r.thread).distinct().count();
+        System.out.println("[ResultCollector] tests=" + (snapshot.size() - retried) + ", passed=" + passed
+                + ", failed=" + failed + ", broken=" + broken + ", retried=" + retried + ", cached=" + cached + ", threads=" + threads);
+        DurationHistory.shared().update(snapshot);
+
+        Path file = TestConfig.outputDir().resolve("results.csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                out.println("class,test,thread,status,durationMillis,message");
+                for (Result r : snapshot) {
+                    out.println(String.join(",", csv(r.testClass), csv(r.testName), csv(r.thread),
+                            r.status.name(), String.valueOf(r.durationMillis), csv(r.message)));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[ResultCollector] не удалось записать " + file + ": " + e.getMessage());
+        }
+        writeJUnitXml(snapshot, TestConfig.outputDir().resolve("junit.xml"));
+    }
+
+    /**
+     * Записывает результаты в формате JUnit XML: по одному testsuite на класс.
+     * FAILED — failure, BROKEN — error, SKIPPED и CACHED — skipped; повторённые попытки (RETRIED)
+     * в отчёт не попадают, они есть в results.csv.
+     */
+    static void writeJUnitXml(List<Result> snapshot, Path file) {
+        Map<String, List<Result>> byClass = new TreeMap<>();
+        for (Result r : snapshot) {
+            if (r.status != Status.RETRIED) {
+                byClass.computeIfAbsent(r.testClass, k -> new ArrayList<>()).add(r);
+            }
+        }
+        try {
+            Document xml = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            Element suites = xml.createElement("testsuites");
+            xml.appendChild(suites);
+            for (Map.Entry<String, List<Result>> entry : byClass.entrySet()) {
+                Element suite = xml.createElement("testsuite");
+                suite.setAttribute("name", entry.getKey());
+                int failures = 0;
+                int errors = 0;
+                int skipped = 0;
+                long millis = 0;
+                for (Result r : entry.getValue()) {
+                    Element testCase = xml.createElement("testcase");
+                    testCase.setAttribute("classname", r.testClass);
+                    testCase.setAttribute("name", r.testName);
+                    testCase.setAttribute("time", seconds(r.durationMillis));
+                    millis += r.durationMillis;
+                    String outcome = null;
+                    if (r.status == Status.FAILED) {
+                        outcome = "failure";
+                        failures++;
+                    } else if (r.status == Status.BROKEN) {
+                        outcome = "error";
+                        errors++;
+                    } else if (r.status == Status.SKIPPED || r.status == Status.CACHED) {
+                        outcome = "skipped";
+                        skipped++;
+                    }
+                    if (outcome != null) {
+                        Element detail = xml.createElement(outcome);
+                        detail.setAttribute("message", r.message == null ? r.status.name() : r.message);
+                        testCase.appendChild(detail);
+                    }
+                    suite.appendChild(testCase);
+                }
+                suite.setAttribute("tests", String.valueOf(entry.getValue().size()));
+                suite.setAttribute("failures", String.valueOf(failures));
+                suite.setAttribute("errors", String.valueOf(errors));
+                suite.setAttribute("skipped", String.valueOf(skipped));
+                suite.setAttribute("time", seconds(millis));
+                suites.appendChild(suite);
+            }
+            Files.createDirectories(file.getParent());
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(xml), new StreamResult(file.toFile()));
+        } catch (IOException | ParserConfigurationException | TransformerException e) {
+            System.err.println("[ResultCollector] не удалось записать " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"").replace('\n', ' ') + "\"";
+    }
+}
@@ -0,0 +1,234 @@
+package support;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assume;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.model.Statement;
+
+/**
+ * Разбиение параметризованных случаев между процессами (шардами).
+ * Каждый процесс получает {@code shard.index} (с нуля) и {@code shard.count}; при {@code shard.count} больше 1
+ * {@link ParallelParameterized} запускает только случаи своего шарда.
+ * <p>
+ * План одинаков во всех процессах: в каталоге тестовых классов находятся все классы
+ * с раннером {@link ParallelParameterized}, их случаи ({@code tests.OrderTest[0]}, ...) получают вес из
+ * {@link DurationHistory} и распределяются жадно — от самых тяжёлых к лёгким, каждый в наименее
+ * загруженный шард (LPT). Порядок обхода классов и порядок запуска тестов на план не влияют.
+ * Для совпадения плана всем шардам нужна одна и та же история длительностей.
+ * <p>
+ * Классы без разбиения на случаи (проверки без браузера) в план не входят: они выполняются целиком
+ * только в shard-0 ({@link #firstShardOnly()}), а в остальных шардах пропускаются. Их результаты
+ * записываются в {@link ResultCollector}, поэтому попадают в {@code junit.xml} shard-0 и в объединённый отчёт.
+ */
+public final class Sharding {
+
+    /**
+     * Файл плана разбиения в каталоге отчётов шарда: строки {@code <шард>,<случай>} для всех случаев.
+     */
+    public static final String PLAN_FILE = "plan.csv";
+
+    private static Set<String> owned;
+
+    private Sharding() {
+    }
+
+    public static int index() {
+        return TestConfig.getInt("shard.index", 0);
+    }
+
+    public static int count() {
+        return Math.max(1, TestConfig.getInt("shard.count", 1));
+    }
+
+    public static boolean isEnabled() {
+        return count() > 1;
+    }
+
+    /**
+     * Возвращает true, если случай принадлежит текущему шарду.
+     *
+     * @param key Класс и имя набора параметров, например {@code tests.OrderTest[0]}.
+     */
+    public static synchronized boolean owns(String key) {
+        if (!isEnabled()) {
+            return true;
+        }
+        if (owned == null) {
+            Map<String, Long> weights = new LinkedHashMap<>();
+            for (String each : discoverCases()) {
+                weights.put(each, DurationHistory.shared().estimate(each));
+            }
+            List<List<String>> plan = plan(weights, count());
+            owned = new HashSet<>(plan.get(Math.min(index(), plan.size() - 1)));
+            long load = 0;
+            for (String each : owned) {
+                load += weights.get(each);
+            }
+            System.out.println("[Sharding] shard " + index() + "/" + count() + ": cases=" + owned.size()
+                    + " of " + weights.size() + ", estimated=" + load + " ms");
+
+            writePlan(plan);
+        }
+        return owned.contains(key);
+    }
+
+    /**
+     * Возвращает правило уровня класса для тестов без разбиения на случаи: при разбиении на шарды
+     * класс выполняется только в shard-0, в остальных шардах он пропускается.
+     */
+    public static TestRule firstShardOnly() {
+        return (base, description) -> new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Assume.assumeTrue(description.getClassName() + " выполняется только в shard-0",
+                        !isEnabled() || index() == 0);
+                base.evaluate();
+            }
+        };
+    }
+
+    /**
+     * Распределяет случаи по шардам: от тяжёлых к лёгким, каждый в наименее загруженный шард.
+     * При равном весе случаи упорядочиваются по имени, при равной загрузке выбирается шард с меньшим номером,
+     * поэтому результат зависит только от весов.
+     *
+     * @param weights Вес (ожидаемая длительность) каждого случая.
+     * @param shards  Число шардов.
+     * @return Список случаев каждого шарда.
+     */
+    public static List<List<String>> plan(Map<String, Long> weights, int shards) {
+        List<String> cases = new ArrayList<>(new TreeMap<>(weights).keySet());
+        cases.sort((a, b) -> Long.compare(weights.get(b), weights.get(a)));
+        List<List<String>> plan = new ArrayList<>();
+        long[] loads = new long[shards];
+        for (int i = 0; i < shards; i++) {
+            plan.add(new ArrayList<>());
+        }
+        for (String each : cases) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            plan.get(lightest).add(each);
+            loads[lightest] += weights.get(each);
+        }
+        return plan;
+    }
+
+    /**
+     * Записывает весь план в каталог отчётов шарда, чтобы при объединении сверить его с планами других шардов
+     * и с выполненными случаями.
+     */
+    private static void writePlan(List<List<String>> plan) {
+        Path file = TestConfig.outputDir().resolve(PLAN_FILE);
+        List<String> lines = new ArrayList<>();
+        lines.add("shard,case");
+        for (int i = 0; i < plan.size(); i++) {
+            for (String each : plan.get(i)) {
+                lines.add(i + "," + each);
+            }
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("[Sharding] не удалось записать " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Находит все случаи классов с раннером {@link ParallelParameterized} в каталоге тестовых классов.
+     */
+    private static List<String> discoverCases() {
+        List<String> cases = new ArrayList<>();
+        for (Class<?> testClass : discoverClasses()) {
+            int rows = countParameters(testClass);
+            for (int i = 0; i < rows; i++) {
+                cases.add(testClass.getName() + "[" + i + "]");
+            }
+        }
+        return cases;
+    }
+
+    private static List<Class<?>> discoverClasses() {
+        Path root;
+        try {
+            root = Paths.get(Sharding.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Не удалось определить каталог тестовых классов", e);
+        }
+        if (!Files.isDirectory(root)) {
+            return Collections.emptyList();
+        }
+        List<String> names;
+        try (Stream<Path> files = Files.walk(root)) {
+            names = files.map(root::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace(root.getFileSystem().getSeparator(), "."))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось просмотреть " + root, e);
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : names) {
+            try {
+                Class<?> type = Class.forName(name, false, Sharding.class.getClassLoader());
+                RunWith runWith = type.getAnnotation(RunWith.class);
+                if (runWith != null && ParallelParameterized.class.isAssignableFrom(runWith.value())) {
+                    classes.add(type);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Не тестовый класс или класс с недоступными зависимостями (например, сгенерированный JMH)
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Возвращает число наборов параметров класса, вызывая его метод с аннотацией {@code @Parameters}.
+     */
+    private static int countParameters(Class<?> testClass) {
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Parameterized.Parameters.class) && Modifier.isStatic(method.getModifiers())) {
+                try {
+                    Object rows = method.invoke(null);
+                    if (rows instanceof Object[]) {
+                        return ((Object[]) rows).length;
+                    }
+                    int count = 0;
+                    for (Object ignored : (Iterable<?>) rows) {
+                        count++;
+                    }
+                    return count;
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Не удалось получить параметры " + testClass.getName(), e);
+                }
+            }
+        }
+        return 0;
+    }
+}
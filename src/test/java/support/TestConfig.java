@@ -0,0 +1,133 @@
+package support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Настройки тестового прогона.
+ * Значения читаются из системных свойств JVM (-Dключ=значение), затем из файла настроек
+ * {@code test.properties} (ресурс в classpath или файл, указанный в {@code -Dtest.config=путь}),
+ * при их отсутствии используются значения по умолчанию.
+ */
+public final class TestConfig {
+
+    // Адрес тестируемого приложения по умолчанию
+    public static final String DEFAULT_BASE_URL = "https://qa-scooter.praktikum-services.ru/";
+
+    // Имя файла настроек в classpath
+    private static final String CONFIG_RESOURCE = "test.properties";
+
+    private static final Properties FILE = loadFile();
+
+    private TestConfig() {
+    }
+
+    /**
+     * Возвращает адрес главной страницы приложения.
+     * Явно заданный {@code base.url} имеет приоритет; при {@code scooter.target=local}
+     * тесты работают со встроенным {@link LocalScooterServer}, иначе — с удалённым стендом.
+     */
+    public static String baseUrl() {
+        String explicit = get("base.url", null);
+        if (explicit != null) {
+            return explicit;
+        }
+        if (isLocalTarget()) {
+            return LocalScooterServer.shared().baseUrl();
+        }
+        return DEFAULT_BASE_URL;
+    }
+
+    /**
+     * Возвращает true, если тесты должны работать с локальной копией приложения.
+     */
+    public static boolean isLocalTarget() {
+        return "local".equalsIgnoreCase(get("scooter.target", "remote"));
+    }
+
+    /**
+     * Возвращает количество потоков для параллельного выполнения тестов.
+     * По умолчанию тесты выполняются последовательно.
+     */
+    public static int workers() {
+        return Math.max(1, getInt("test.workers", 1));
+    }
+
+    /**
+     * Возвращает каталог для отчётов прогона. При разбиении на шарды у каждого шарда
+     * свой подкаталог {@code shard-<номер>}, которые затем объединяет {@code shard.ShardReportMerger}.
+     */
+    public static Path outputDir() {
+        Path root = Paths.get(get("run.output.dir", "target/run"));
+        return Sharding.isEnabled() ? root.resolve("shard-" + Sharding.index()) : root;
+    }
+
+    /**
+     * Возвращает каталог истории прогонов, который сохраняется между сборками (не очищается mvn clean).
+     */
+    public static Path historyDir() {
+        return Paths.get(get("history.dir", ".test-history"));
+    }
+
+    /**
+     * Возвращает строковое значение настройки.
+     *
+     * @param key          Имя системного свойства.
+     * @param defaultValue Значение по умолчанию.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = FILE.getProperty(key);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Возвращает целочисленное значение настройки.
+     */
+    public static int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Возвращает логическое значение настройки.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Загружает файл настроек: явно указанный в {@code test.config} или {@code test.properties} из classpath.
+     * Отсутствие файла не ошибка — тогда действуют только системные свойства и значения по умолчанию.
+     */
+    private static Properties loadFile() {
+        Properties properties = new Properties();
+        String explicit = System.getProperty("test.config");
+        try {
+            if (explicit != null && !explicit.trim().isEmpty()) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(explicit.trim()), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            } else {
+                InputStream in = TestConfig.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE);
+                if (in != null) {
+                    try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                        properties.load(reader);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось прочитать файл настроек "
+                    + (explicit == null ? CONFIG_RESOURCE : explicit), e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,68 @@
+package support;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Последние замеры команд и ожиданий текущего потока.
+ * {@link LatencyRecorder} дублирует сюда каждый замер; при падении теста хронология
+ * сохраняется вместе с остальными материалами ({@link FailureArtifacts}).
+ * Хранится не больше {@code artifacts.trail.size} (200) последних записей.
+ */
+public final class TimingTrail {
+
+    private static final int CAPACITY = TestConfig.getInt("artifacts.trail.size", 200);
+
+    private static final ThreadLocal<Deque<Entry>> TRAIL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final class Entry {
+        final long epochMillis;
+        final String tag;
+        final String command;
+        final long nanos;
+
+        Entry(long epochMillis, String tag, String command, long nanos) {
+            this.epochMillis = epochMillis;
+            this.tag = tag;
+            this.command = command;
+            this.nanos = nanos;
+        }
+    }
+
+    private TimingTrail() {
+    }
+
+    /**
+     * Очищает хронологию текущего потока. Вызывается перед каждым тестом.
+     */
+    public static void reset() {
+        TRAIL.get().clear();
+    }
+
+    /**
+     * Добавляет замер в хронологию текущего потока, вытесняя самый старый при переполнении.
+     */
+    public static void add(String tag, String command, long nanos) {
+        Deque<Entry> trail = TRAIL.get();
+        if (trail.size() >= CAPACITY) {
+            trail.pollFirst();
+        }
+        trail.addLast(new Entry(System.currentTimeMillis(), tag, command, nanos));
+    }
+
+    /**
+     * Возвращает хронологию текущего потока в виде строк CSV с заголовком.
+     */
+    public static List<String> toCsv() {
+        List<String> lines = new ArrayList<>();
+        lines.add("time,tag,command,millis");
+        for (Entry entry : TRAIL.get()) {
+            lines.add(Instant.ofEpochMilli(entry.epochMillis) + "," + entry.tag + "," + entry.command + ","
+                    + Math.round(entry.nanos / 1_000.0) / 1_000.0);
+        }
+        return lines;
+    }
+}
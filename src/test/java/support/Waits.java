@@ -0,0 +1,87 @@
+package support;
+
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Общий механизм ожиданий для page objects и тестов.
+ * Заменяет Thread.sleep и WebDriverWait с фиксированным опросом раз в 500 мс:
+ * {@link #until(Function)} опрашивает условие с адаптивным интервалом —
+ * начиная с нескольких миллисекунд и постепенно увеличивая его.
+ * Фактическая длительность каждого ожидания записывается в {@link LatencyRecorder}
+ * с тегом вызвавшего метода page object или теста.
+ */
+public final class Waits {
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+
+    private Waits(WebDriver driver, long timeoutMillis, long initialPollMillis, long maxPollMillis) {
+        this.driver = driver;
+        this.timeoutMillis = timeoutMillis;
+        this.initialPollMillis = initialPollMillis;
+        this.maxPollMillis = maxPollMillis;
+    }
+
+    /**
+     * Создаёт механизм ожиданий для драйвера с настройками из {@link TestConfig}:
+     * {@code wait.timeout.ms} (10000), {@code wait.poll.initial.ms} (5), {@code wait.poll.max.ms} (200).
+     */
+    public static Waits on(WebDriver driver) {
+        return new Waits(driver,
+                TestConfig.getInt("wait.timeout.ms", 10_000),
+                TestConfig.getInt("wait.poll.initial.ms", 5),
+                TestConfig.getInt("wait.poll.max.ms", 200));
+    }
+
+    /**
+     * Ждёт, пока условие вернёт значение, отличное от null и false, и возвращает его.
+     * Первая проверка выполняется сразу, затем интервал опроса удваивается до {@code wait.poll.max.ms}.
+     *
+     * @throws TimeoutException если условие не выполнилось за отведённое время.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000;
+        long pollMillis = initialPollMillis;
+        RuntimeException lastError = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record("wait", start);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                // Элемент ещё не появился или был перерисован — пробуем снова
+                lastError = e;
+            }
+            if (System.nanoTime() >= deadline) {
+                record("wait (timeout)", start);
+                throw new TimeoutException("Expected condition failed: waiting for " + condition
+                        + " (tried for " + timeoutMillis + " ms with adaptive polling)", lastError);
+            }
+            sleep(Math.min(pollMillis, Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+            pollMillis = Math.min(maxPollMillis, pollMillis * 2);
+        }
+    }
+
+    private static void record(String command, long startNanos) {
+        LatencyRecorder.shared().record(CallSite.tag(), command, System.nanoTime() - startNanos);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Ожидание прервано", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package tests;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.Rule;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestName;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openqa.selenium.WebDriver;
+import pageObjects.HomePage;
+import support.BrowserStateSnapshot;
+import support.DriverPool;
+import support.FailureArtifacts;
+import support.IncrementalRun;
+import support.InfraRetry;
+import support.ResultCollector;
+import support.TimingTrail;
+import support.Waits;
+
+
+/**
+ * Базовый класс UI-тестов.
+ * Берёт сессию браузера из общего пула перед тестом и возвращает её после,
+ * вместо запуска и закрытия нового браузера на каждый параметризованный случай.
+ * Все поля относятся к экземпляру теста, поэтому при параллельном запуске
+ * каждый поток работает только со своей сессией.
+ * <p>
+ * Сессия выдаётся правилом, а не методами @Before/@After: так при падении теста
+ * материалы для разбора ({@link FailureArtifacts}) снимаются до того, как сессия будет сброшена.
+ */
+public abstract class BaseTest {
+    protected WebDriver driver;
+    protected HomePage homePage;
+    // Явные ожидания с адаптивным опросом
+    protected Waits wait;
+    // Имя текущего случая, например "testOrderFlow[0]"
+    protected final TestName testName = new TestName();
+
+    // Снаружи внутрь: имя случая, запись результата, пропуск неизменившихся тестов (-Dincremental=true),
+    // повтор при сбое инфраструктуры, выдача сессии
+    @Rule
+    public final TestRule rules = RuleChain
+            .outerRule(testName)
+            .around(ResultCollector.shared().watcher())
+            .around(new IncrementalRun(this, this::fingerprintPages, this::pageObjects))
+            .around(new InfraRetry())
+            .around(this::session);
+
+
+    /**
+     * Получает сессию браузера и открывает главную страницу с принятыми куки.
+     */
+    protected void setUp() {
+        if (!usesBrowser()) {
+            return;
+        }
+        // Получаем из пула сессию, уже открытую на главной странице приложения
+        driver = DriverPool.shared().lease();
+
+        // Инициализируем общий механизм ожиданий
+        wait = Waits.on(driver);
+
+        // Создаем объект главной страницы и принимаем куки, если баннер не скрыт сохранённым снимком
+        homePage = new HomePage(driver);
+        if (homePage.isCookieBannerShown()) {
+            BrowserStateSnapshot.onBannerShown(driver);
+            homePage.acceptCookies();
+            BrowserStateSnapshot.capture(driver);
+        }
+    }
+
+
+    /**
+     * Возвращает false, если тесту не нужна собственная сессия браузера
+     * (например, он проверяет данные, собранные заранее за одну загрузку страницы).
+     */
+    protected boolean usesBrowser() {
+        return true;
+    }
+
+
+    /**
+     * Возвращает адреса страниц (относительно адреса приложения), от содержимого которых зависит тест.
+     */
+    protected List<String> fingerprintPages() {
+        return Collections.singletonList("");
+    }
+
+
+    /**
+     * Возвращает классы page object, от кода которых зависит тест.
+     */
+    protected List<Class<?>> pageObjects() {
+        return Collections.singletonList(HomePage.class);
+    }
+
+
+    /**
+     * Возвращает сессию в пул. Сессию, сломанную сбоем инфраструктуры, закрывает,
+     * чтобы повтор теста получил другую.
+     */
+    protected void tearDown(boolean broken) {
+        if (driver != null) {
+            if (broken) {
+                DriverPool.shared().discard(driver);
+            } else {
+                // Сбрасываем состояние браузера и возвращаем сессию в пул
+                DriverPool.shared().release(driver);
+            }
+            driver = null;
+        }
+    }
+
+
+    private Statement session(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                TimingTrail.reset();
+                boolean broken = false;
+                try {
+                    setUp();
+                    base.evaluate();
+                } catch (AssumptionViolatedException skipped) {
+                    throw skipped;
+                } catch (Throwable failure) {
+                    broken = InfraRetry.isInfrastructure(failure);
+                    // Снимаем материалы, пока браузер ещё в состоянии на момент падения
+                    FailureArtifacts.shared().capture(driver, description, failure);
+                    throw failure;
+                } finally {
+                    tearDown(broken);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import support.DriverPool;
+
+
+/**
+ * Проверки пула сессий без браузера: сессии подменяются заглушками.
+ */
+public class DriverPoolTest extends UnitTest {
+    private final List<FakeSession> sessions = new ArrayList<>();
+
+
+    @Test
+    public void testReleasedSessionIsResetAndReused() {
+        DriverPool pool = new DriverPool(this::newSession, driver -> { });
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        WebDriver second = pool.lease();
+
+        assertSame(first, second);
+        assertEquals(1, pool.getCreated());
+        assertEquals(2, pool.getLeases());
+        assertEquals(1, pool.getResets());
+        assertEquals(1, sessions.get(0).cookieClears);
+    }
+
+
+    @Test
+    public void testUnhealthyIdleSessionIsReplaced() {
+        DriverPool pool = new DriverPool(this::newSession, driver -> { });
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        // Браузер «умер», пока сессия лежала в пуле
+        sessions.get(0).alive = false;
+        WebDriver second = pool.lease();
+
+        assertNotSame(first, second);
+        assertTrue(sessions.get(0).quit);
+        assertEquals(2, pool.getCreated());
+        assertEquals(1, pool.getReplacements());
+    }
+
+
+    @Test
+    public void testShutdownQuitsIdleAndLeasedSessions() {
+        DriverPool pool = new DriverPool(this::newSession, driver -> { });
+
+        WebDriver idle = pool.lease();
+        pool.lease();
+        pool.release(idle);
+        pool.shutdown();
+
+        assertEquals(2, sessions.size());
+        assertTrue(sessions.get(0).quit);
+        assertTrue(sessions.get(1).quit);
+    }
+
+
+    @Test
+    public void testFailedSessionStartIsNotCountedAsLease() {
+        DriverPool pool = new DriverPool(() -> {
+            throw new SessionNotCreatedException("chrome not found");
+        }, driver -> { });
+
+        try {
+            pool.lease();
+            fail("Ожидалась ошибка создания сессии");
+        } catch (SessionNotCreatedException expected) {
+            // Ошибка создания доходит до теста
+        }
+        assertEquals(0, pool.getLeases());
+        assertEquals(0, pool.getCreated());
+    }
+
+
+    private WebDriver newSession() {
+        FakeSession session = new FakeSession();
+        sessions.add(session);
+        return session.driver;
+    }
+
+
+    /**
+     * Заглушка сессии: отвечает на команды, которые использует пул, пока не «умрёт».
+     */
+    private static final class FakeSession {
+        private boolean alive = true;
+        private boolean quit;
+        private int cookieClears;
+        private final WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "FakeSession";
+                        case "quit":
+                            quit = true;
+                            alive = false;
+                            return null;
+                        default:
+                            if (!alive) {
+                                throw new NoSuchSessionException("session deleted");
+                            }
+                            return method.getName().equals("manage") ? options() : null;
+                    }
+                });
+
+        private WebDriver.Options options() {
+            return (WebDriver.Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {WebDriver.Options.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("deleteAllCookies")) {
+                            cookieClears++;
+                        }
+                        return null;
+                    });
+        }
+    }
+}
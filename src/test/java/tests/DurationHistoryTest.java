@@ -0,0 +1,88 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import support.DurationHistory;
+import support.ResultCollector;
+import support.TestConfig;
+
+
+/**
+ * Проверки истории длительностей без браузера: оценка случаев, усреднение и сохранение из нескольких JVM.
+ */
+public class DurationHistoryTest extends UnitTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+
+    @Test
+    public void testEstimateFallsBackFromCaseToClassToHistoryToDefault() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("durations.properties");
+        long defaultEstimate = TestConfig.getInt("scheduler.default.estimate.ms", 5_000);
+        assertEquals(defaultEstimate, new DurationHistory(file).estimate("tests.OrderTest[0]"));
+
+        Files.write(file, Arrays.asList(
+                "tests.OrderTest[0]=1000",
+                "tests.OrderTest[1]=3000",
+                "tests.FAQTest[0]=8000"), StandardCharsets.UTF_8);
+        DurationHistory history = new DurationHistory(file);
+
+        // Известный случай — собственное значение
+        assertEquals(1000, history.estimate("tests.OrderTest[0]"));
+        // Новый случай известного класса — среднее по классу
+        assertEquals(2000, history.estimate("tests.OrderTest[7]"));
+        // Случай неизвестного класса — среднее по всей истории
+        assertEquals(4000, history.estimate("tests.NewTest#testSomething"));
+    }
+
+
+    @Test
+    public void testUpdateSumsMethodsOfCaseAndAveragesWithHistory() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("durations.properties");
+        Files.write(file, Collections.singletonList("tests.OrderTest[0]=1000"), StandardCharsets.UTF_8);
+        DurationHistory history = new DurationHistory(file);
+
+        history.update(Arrays.asList(
+                result("testOrderFlow[0]", ResultCollector.Status.PASSED, 1200),
+                result("testOrderStatus[0]", ResultCollector.Status.FAILED, 800),
+                // Пропущенные и взятые из кэша тесты длительность не меняют
+                result("testOrderCancel[0]", ResultCollector.Status.SKIPPED, 60_000),
+                result("testOrderTrack[0]", ResultCollector.Status.CACHED, 60_000)));
+
+        // (1000 + (1200 + 800)) / 2
+        assertEquals(1500, history.estimate("tests.OrderTest[0]"));
+        assertEquals(1500, new DurationHistory(file).estimate("tests.OrderTest[0]"));
+    }
+
+
+    @Test
+    public void testSaveKeepsCasesWrittenByAnotherJvm() {
+        Path file = folder.getRoot().toPath().resolve("durations.properties");
+        // Оба шарда загрузили историю до того, как любой из них её записал
+        DurationHistory first = new DurationHistory(file);
+        DurationHistory second = new DurationHistory(file);
+
+        first.update(Collections.singletonList(result("testOrderFlow[0]", ResultCollector.Status.PASSED, 1000)));
+        second.update(Collections.singletonList(result("testOrderFlow[1]", ResultCollector.Status.PASSED, 3000)));
+
+        DurationHistory merged = new DurationHistory(file);
+        assertEquals(1000, merged.estimate("tests.OrderTest[0]"));
+        assertEquals(3000, merged.estimate("tests.OrderTest[1]"));
+    }
+
+
+    private static ResultCollector.Result result(String testName, ResultCollector.Status status, long millis) {
+        return new ResultCollector.Result("tests.OrderTest", testName, "main", status, millis, null);
+    }
+}
@@ -0,0 +1,68 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import data.OrderData;
+import org.junit.After;
+import org.junit.Test;
+import support.IncrementalRun;
+
+
+/**
+ * Проверки отпечатка инкрементального режима без браузера и без обращения к страницам.
+ */
+public class IncrementalRunTest extends UnitTest {
+
+
+    @After
+    public void clearConfig() {
+        System.clearProperty("order.fill.mode");
+    }
+
+
+    @Test
+    public void testDeliveryDateIsStableAcrossDays() {
+        LocalDate today = LocalDate.of(2026, 10, 18);
+        // Тот же параметр «через три дня», сформированный сегодня и завтра
+        assertEquals(IncrementalRun.inputValue("21.10.2026", today),
+                IncrementalRun.inputValue("22.10.2026", today.plusDays(1)));
+        assertEquals("today+3", IncrementalRun.inputValue(LocalDate.of(2026, 10, 21), today));
+        assertEquals("today-1", IncrementalRun.inputValue("17.10.2026", today));
+        assertNotEquals(IncrementalRun.inputValue("21.10.2026", today), IncrementalRun.inputValue("23.10.2026", today));
+    }
+
+
+    @Test
+    public void testOtherInputsAreKeptAsIs() {
+        LocalDate today = LocalDate.of(2026, 10, 18);
+        assertEquals("Лубянка", IncrementalRun.inputValue("Лубянка", today));
+        assertEquals("89123456789", IncrementalRun.inputValue("89123456789", today));
+        assertEquals("null", IncrementalRun.inputValue(null, today));
+    }
+
+
+    @Test
+    public void testRunConfigChangesFingerprint() throws IOException {
+        IncrementalRun rule = new IncrementalRun(new Inputs(), Collections::emptyList, Collections::emptyList);
+        String keystrokes = rule.fingerprint();
+        assertEquals(keystrokes, rule.fingerprint());
+
+        System.setProperty("order.fill.mode", "batched");
+
+        assertNotEquals(keystrokes, rule.fingerprint());
+    }
+
+
+    /**
+     * Экземпляр «теста» с параметрами: отпечаток снимается с его полей.
+     */
+    private static final class Inputs {
+        private final String metroStation = "Лубянка";
+        private final String deliveryDate = LocalDate.now().plusDays(3).format(OrderData.DATE_FORMAT);
+    }
+}
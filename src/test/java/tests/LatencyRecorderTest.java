@@ -0,0 +1,117 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import pageObjects.HomePage;
+import support.CallSite;
+import support.CommandTimer;
+import support.LatencyRecorder;
+
+
+/**
+ * Проверки расчёта перцентилей и тегирования замеров без браузера.
+ */
+public class LatencyRecorderTest extends UnitTest {
+
+
+    @Test
+    public void testPercentileUsesNearestRank() {
+        List<Long> sorted = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            sorted.add(i);
+        }
+        assertEquals(50, LatencyRecorder.percentile(sorted, 50));
+        assertEquals(95, LatencyRecorder.percentile(sorted, 95));
+        assertEquals(99, LatencyRecorder.percentile(sorted, 99));
+        assertEquals(100, LatencyRecorder.percentile(sorted, 100));
+        assertEquals(1, LatencyRecorder.percentile(sorted, 0));
+    }
+
+
+    @Test
+    public void testPercentileOfSmallAndEmptySamples() {
+        assertEquals(0, LatencyRecorder.percentile(Collections.emptyList(), 95));
+        assertEquals(7, LatencyRecorder.percentile(Collections.singletonList(7L), 50));
+        // Для трёх замеров p50 — второй, p95 и p99 — наибольший
+        List<Long> three = Arrays.asList(10L, 20L, 30L);
+        assertEquals(20, LatencyRecorder.percentile(three, 50));
+        assertEquals(30, LatencyRecorder.percentile(three, 95));
+    }
+
+
+    @Test
+    public void testSummaryGroupsByTagAndCommandInMillis() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("OrderPage.fill", "sendKeys", 2_000_000);
+        recorder.record("OrderPage.fill", "sendKeys", 4_000_000);
+        recorder.record("OrderPage.fill", "click", 1_500_000);
+
+        List<Map<String, Object>> rows = recorder.summary();
+
+        assertEquals(2, rows.size());
+        Map<String, Object> click = rows.get(0);
+        assertEquals("click", click.get("command"));
+        assertEquals(1, click.get("count"));
+        assertEquals(1.5, click.get("max"));
+        Map<String, Object> sendKeys = rows.get(1);
+        assertEquals("OrderPage.fill", sendKeys.get("tag"));
+        assertEquals(2, sendKeys.get("count"));
+        assertEquals(2.0, sendKeys.get("p50"));
+        assertEquals(4.0, sendKeys.get("p99"));
+    }
+
+
+    @Test
+    public void testCallSiteTagsTestMethodAndLambdas() throws Exception {
+        assertEquals("LatencyRecorderTest.testCallSiteTagsTestMethodAndLambdas", CallSite.tag());
+        Callable<String> inLambda = CallSite::tag;
+        Callable<String> inBlockLambda = () -> CallSite.tag();
+        assertEquals("LatencyRecorderTest.testCallSiteTagsTestMethodAndLambdas", inLambda.call());
+        assertEquals("LatencyRecorderTest.testCallSiteTagsTestMethodAndLambdas", inBlockLambda.call());
+    }
+
+
+    @Test
+    public void testCommandIsTaggedWithOutermostPageObjectMethod() {
+        WebDriver driver = CommandTimer.instrument(fakeDriver());
+
+        new HomePage(driver).getFAQQuestionButton(3);
+
+        List<Long> samples = LatencyRecorder.shared().snapshot().get("HomePage.getFAQQuestionButton\tfindElement");
+        assertTrue("Замер findElement не отнесён к методу page object", samples != null && !samples.isEmpty());
+    }
+
+
+    /**
+     * Заглушка драйвера: на поиск возвращает заглушку элемента, на остальные команды — null.
+     */
+    private static WebDriver fakeDriver() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(LatencyRecorderTest.class.getClassLoader(),
+                new Class<?>[] {WebElement.class}, (proxy, method, args) -> null);
+        return (WebDriver) Proxy.newProxyInstance(LatencyRecorderTest.class.getClassLoader(),
+                new Class<?>[] {WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
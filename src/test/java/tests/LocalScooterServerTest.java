@@ -0,0 +1,93 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import support.LocalScooterServer;
+
+
+/**
+ * Проверки встроенной копии приложения без браузера.
+ */
+public class LocalScooterServerTest extends UnitTest {
+    private static LocalScooterServer server;
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = new LocalScooterServer(0);
+        server.start();
+    }
+
+
+    @Test
+    public void testHomePageContainsFaqAndCookieBanner() throws Exception {
+        HttpResponse<String> response = get("");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("id=\"accordion__panel-7\""));
+        assertTrue(response.body().contains("id=\"rcc-confirm-button\""));
+    }
+
+
+    @Test
+    public void testOrderPageIsServed() throws Exception {
+        HttpResponse<String> response = get("order");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Order_Content"));
+    }
+
+
+    @Test
+    public void testStationSearchFiltersByName() throws Exception {
+        HttpResponse<String> response = get("api/v1/stations/search?s=%D0%BB%D1%83%D0%B1");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Лубянка"));
+    }
+
+
+    @Test
+    public void testOrderEndpointReturnsTrackNumber() throws Exception {
+        String order = "{\"firstName\":\"Иван\",\"lastName\":\"Иванов\",\"address\":\"ул. Ленина, д. 1\","
+                + "\"metroStation\":\"Лубянка\",\"phone\":\"89123456789\",\"rentTime\":1,"
+                + "\"deliveryDate\":\"01.01.2030\",\"comment\":\"\",\"color\":[\"BLACK\"]}";
+        HttpResponse<String> response = post(order);
+        assertEquals(201, response.statusCode());
+        assertTrue(response.body().matches("\\{\"track\":\\d+}"));
+    }
+
+
+    @Test
+    public void testOrderEndpointRejectsIncompleteOrder() throws Exception {
+        HttpResponse<String> response = post("{\"firstName\":\"Иван\"}");
+        assertEquals(400, response.statusCode());
+    }
+
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop();
+    }
+
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl() + "api/v1/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
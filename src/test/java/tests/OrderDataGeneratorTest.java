@@ -0,0 +1,104 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import data.Combinations;
+import data.OrderData;
+import data.OrderDataGenerator;
+import org.junit.Test;
+import support.LocalScooterServer;
+
+
+/**
+ * Проверки генератора сценариев заказа без браузера.
+ */
+public class OrderDataGeneratorTest extends UnitTest {
+    private static final int[] SIZES = {2, 10, 7, 4, 5};
+
+
+    @Test
+    public void testCartesianProducesEveryCombinationOnce() {
+        Set<String> rows = collect(Combinations.cartesian(SIZES));
+        assertEquals(Combinations.total(SIZES), rows.size());
+    }
+
+
+    @Test
+    public void testPairwiseCoversAllPairsWithFewerRows() {
+        List<int[]> rows = new ArrayList<>();
+        Combinations.pairwise(SIZES, 42).forEach(rows::add);
+
+        for (int i = 0; i < SIZES.length; i++) {
+            for (int j = i + 1; j < SIZES.length; j++) {
+                for (int a = 0; a < SIZES[i]; a++) {
+                    for (int b = 0; b < SIZES[j]; b++) {
+                        assertTrue("Не покрыта пара " + i + "=" + a + ", " + j + "=" + b, covers(rows, i, a, j, b));
+                    }
+                }
+            }
+        }
+        // Нижняя граница — произведение двух самых больших областей (10 * 7)
+        assertTrue("Слишком много строк: " + rows.size(), rows.size() < 2 * 10 * 7);
+    }
+
+
+    @Test
+    public void testRandomSampleIsDistinctAndRepeatableForSameSeed() {
+        Set<String> first = collect(Combinations.random(SIZES, 500, 7));
+        Set<String> second = collect(Combinations.random(SIZES, 500, 7));
+        assertEquals(500, first.size());
+        assertEquals(first, second);
+    }
+
+
+    @Test
+    public void testScenarioBuildsValidOrderData() {
+        OrderDataGenerator generator = new OrderDataGenerator(Arrays.asList("Лубянка", "Сокольники"),
+                Arrays.asList(1, 3), LocalDate.of(2024, 1, 1));
+        OrderData order = generator.scenario(new int[] {1, 0, 2, 3, 1}, 0);
+
+        assertEquals("footer", order.orderButtonLocation);
+        assertEquals("Лубянка", order.metroStation);
+        assertEquals("трое суток", order.rentalPeriod);
+        assertEquals(3, order.rentTime());
+        assertEquals("04.01.2024", order.deliveryDate);
+        assertEquals(Arrays.asList("BLACK", "GREY"), order.colorCodes());
+    }
+
+
+    @Test
+    public void testApiRequestUsesStationNumberAndIsoDate() {
+        OrderData order = OrderData.defaults().iterator().next();
+        Map<String, Object> body = order.toApiRequest();
+
+        assertEquals(LocalScooterServer.stationNames().indexOf(order.metroStation) + 1, body.get("metroStation"));
+        assertEquals(LocalDate.parse(order.deliveryDate, OrderData.DATE_FORMAT).toString(), body.get("deliveryDate"));
+    }
+
+
+    private static Set<String> collect(Iterable<int[]> rows) {
+        Set<String> distinct = new HashSet<>();
+        for (int[] row : rows) {
+            distinct.add(Arrays.toString(row));
+        }
+        return distinct;
+    }
+
+    private static boolean covers(List<int[]> rows, int i, int a, int j, int b) {
+        for (int[] row : rows) {
+            if (row[i] == a && row[j] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
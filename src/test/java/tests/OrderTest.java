@@ -2,34 +2,24 @@ package tests;
 
 import static org.junit.Assert.assertTrue;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Collection;
-import java.time.Duration;
+import java.util.List;
 
-import org.junit.After;
-import org.junit.Before;
+import data.OrderDataGenerator;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
 import pageObjects.HomePage;
 import pageObjects.OrderPage;
+import support.ParallelParameterized;
+import support.PerformanceBudget;
 
 
-@RunWith(Parameterized.class)
-public class OrderTest {
-    private WebDriver driver;
-    private HomePage homePage;
+@RunWith(ParallelParameterized.class)
+public class OrderTest extends BaseTest {
     private OrderPage orderPage;
-    // Явное ожидание с таймаутом 10 секунд
-    private WebDriverWait wait;
 
     // Параметры тестовых данных:
     private String orderButtonLocation;
@@ -59,42 +49,32 @@ public class OrderTest {
     }
 
     @Parameterized.Parameters
-    public static Collection<Object[]> testData() {
-        // Формирование даты доставки на основе текущей даты с добавлением смещения
-        LocalDate date1 = LocalDate.now().plusDays(3);
-        LocalDate date2 = LocalDate.now().plusDays(5);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-
-        return Arrays.asList(new Object[][] {
-                {"header", "Иван", "Иванов", "ул. Ленина, д. 1", "Лубянка", "89123456789",
-                        date1.format(formatter), "сутки", "чёрный жемчуг", "Комментарий теста 1"},
-                {"footer", "Петр", "Петров", "ул. Пушкина, д. 2", "Пушкинская", "89876543210",
-                        date2.format(formatter), "двое суток", "серая безысходность", "Комментарий теста 2"}
-        });
+    public static Iterable<Object[]> testData() {
+        // По умолчанию — базовые сценарии (кнопка в шапке и внизу страницы);
+        // сочетания полей формы включаются свойством order.data (см. OrderDataGenerator)
+        return OrderDataGenerator.parameters();
     }
 
 
-    @Before
-    public void setUp() {
-        // Указываем путь к драйверу Chrome
-        System.setProperty("webdriver.chrome.driver", "B:\\Downloads\\chromedriver-win64\\chromedriver.exe");
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        driver = new ChromeDriver(options);
-
-        // Инициализируем WebDriverWait с таймаутом 10 секунд
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+    @Override
+    protected List<String> fingerprintPages() {
+        return Arrays.asList("", "order");
+    }
 
-        // Открываем главную страницу приложения
-        driver.get("https://qa-scooter.praktikum-services.ru/");
 
-        // Инициализируем объект главной страницы и принимаем куки
-        homePage = new HomePage(driver);
-        homePage.acceptCookies();
+    @Override
+    protected List<Class<?>> pageObjects() {
+        return Arrays.asList(HomePage.class, OrderPage.class);
     }
 
+
     @Test
     public void testOrderFlow() {
+        // Фронтенд-метрики на ключевых шагах сверяются с бюджетами (perf.mode)
+        PerformanceBudget perf = new PerformanceBudget(driver,
+                getClass().getSimpleName() + "." + testName.getMethodName());
+        perf.check("home");
+
         // Выбираем точку входа для оформления заказа (кнопка в шапке или в подвале)
         if (orderButtonLocation.equalsIgnoreCase("header")) {
             homePage.clickHeaderOrderButton();
@@ -107,6 +87,7 @@ public class OrderTest {
 
         // Ожидаем появления первой формы (поля "Имя")
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//input[@placeholder='* Имя']")));
+        perf.check("orderStepOne");
 
         // Заполняем первую форму заказа (личные данные)
         orderPage.fillOrderFormStepOne(firstName, lastName, address, metroStation, phone);
@@ -114,6 +95,7 @@ public class OrderTest {
 
         // Ожидаем появления второй формы заказа (поля "Когда привезти самокат")
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//input[@placeholder='* Когда привезти самокат']")));
+        perf.check("orderStepTwo");
 
         // Заполняем вторую форму заказа (данные по заказу)
         orderPage.fillOrderFormStepTwo(deliveryDate, rentalPeriod, scooterColor, comment);
@@ -121,12 +103,6 @@ public class OrderTest {
 
         // Проверяем, что сообщение об успешном заказе отображается
         assertTrue("Сообщение об успешном заказе не отображается", orderPage.isOrderSuccessMessageDisplayed());
-    }
-
-    @After
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        perf.check("confirmation");
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import shard.ShardReportMerger;
+import support.Sharding;
+
+
+/**
+ * Проверки объединения отчётов шардов без браузера: отчёты шардов подготавливаются во временном каталоге.
+ */
+public class ShardReportMergerTest extends UnitTest {
+
+    // План на три шарда: shard-2 не досталось ни одного случая
+    private static final List<String> PLAN = Arrays.asList(
+            "shard,case",
+            "0,tests.OrderTest[0]",
+            "1,tests.OrderTest[1]");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+
+    @Test
+    public void testShardWithoutPlannedCasesNeedsNoReport() throws Exception {
+        Path root = folder.getRoot().toPath();
+        shard(root, 0, PLAN, "testOrderFlow[0]");
+        shard(root, 1, PLAN, "testOrderFlow[1]");
+        shard(root, 2, PLAN);
+
+        ShardReportMerger.merge(root, 3);
+
+        assertEquals(2, DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(root.resolve("merged").resolve("junit.xml").toFile())
+                .getElementsByTagName("testcase").getLength());
+    }
+
+
+    @Test
+    public void testShardWithPlannedCasesMustReport() throws Exception {
+        Path root = folder.getRoot().toPath();
+        shard(root, 0, PLAN, "testOrderFlow[0]");
+        // shard-1 записал план, но упал до отчёта
+        shard(root, 1, PLAN);
+        shard(root, 2, PLAN);
+
+        assertMergeFails(root, 3);
+    }
+
+
+    @Test
+    public void testEmptyShardWithDifferentPlanFails() throws Exception {
+        Path root = folder.getRoot().toPath();
+        shard(root, 0, PLAN, "testOrderFlow[0]");
+        shard(root, 1, PLAN, "testOrderFlow[1]");
+        shard(root, 2, Arrays.asList("shard,case", "1,tests.OrderTest[0]", "0,tests.OrderTest[1]"));
+
+        assertMergeFails(root, 3);
+    }
+
+
+    @Test
+    public void testCaseExecutedOutsideItsShardFails() throws Exception {
+        Path root = folder.getRoot().toPath();
+        shard(root, 0, PLAN, "testOrderFlow[0]", "testOrderFlow[1]");
+        shard(root, 1, PLAN, "testOrderFlow[1]");
+        shard(root, 2, PLAN);
+
+        assertMergeFails(root, 3);
+    }
+
+
+    private static void assertMergeFails(Path root, int count) throws Exception {
+        try {
+            ShardReportMerger.merge(root, count);
+            fail("Ожидалась ошибка объединения");
+        } catch (IllegalStateException expected) {
+            // Общий отчёт записан, но проблема доходит до сборки
+        }
+    }
+
+
+    /**
+     * Создаёт каталог шарда с планом разбиения и, если переданы тесты, с отчётом junit.xml.
+     */
+    private static void shard(Path root, int index, List<String> plan, String... tests) throws IOException {
+        Path dir = Files.createDirectories(root.resolve("shard-" + index));
+        Files.write(dir.resolve(Sharding.PLAN_FILE), plan, StandardCharsets.UTF_8);
+        if (tests.length == 0) {
+            return;
+        }
+        StringBuilder xml = new StringBuilder("<testsuites><testsuite name=\"tests.OrderTest\">");
+        for (String test : tests) {
+            xml.append("<testcase classname=\"tests.OrderTest\" name=\"").append(test).append("\" time=\"1.000\"/>");
+        }
+        xml.append("</testsuite></testsuites>");
+        Files.write(dir.resolve("junit.xml"), xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
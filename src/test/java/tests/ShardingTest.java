@@ -0,0 +1,66 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import support.Sharding;
+
+
+/**
+ * Проверки плана разбиения случаев по шардам без браузера.
+ */
+public class ShardingTest extends UnitTest {
+
+
+    @Test
+    public void testPlanAssignsEveryCaseToExactlyOneShard() {
+        Map<String, Long> weights = weights(37);
+        List<String> assigned = new ArrayList<>();
+        Sharding.plan(weights, 4).forEach(assigned::addAll);
+
+        assertEquals(weights.size(), assigned.size());
+        assertTrue(assigned.containsAll(weights.keySet()));
+    }
+
+
+    @Test
+    public void testPlanDependsOnlyOnWeights() {
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>(weights(37).keySet());
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            reversed.put(keys.get(i), weights(37).get(keys.get(i)));
+        }
+        assertEquals(Sharding.plan(weights(37), 4), Sharding.plan(reversed, 4));
+    }
+
+
+    @Test
+    public void testPlanBalancesByWeightNotByCount() {
+        Map<String, Long> weights = weights(37);
+        // Один тяжёлый случай весит как половина всех остальных
+        weights.put("tests.OrderTest[99]", 20_000L);
+        long max = 0;
+        long total = 0;
+        for (List<String> shard : Sharding.plan(weights, 4)) {
+            long load = shard.stream().mapToLong(weights::get).sum();
+            max = Math.max(max, load);
+            total += load;
+        }
+        assertTrue("Перекос загрузки шардов: max=" + max + ", total=" + total, max <= total / 4 + 2_000);
+    }
+
+
+    private static Map<String, Long> weights(int cases) {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        for (int i = 0; i < cases; i++) {
+            weights.put("tests.OrderTest[" + i + "]", 500L + (i * 7919L) % 2_000);
+        }
+        return weights;
+    }
+}
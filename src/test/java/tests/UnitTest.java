@@ -0,0 +1,23 @@
+package tests;
+
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+import org.junit.rules.TestWatcher;
+import support.ResultCollector;
+import support.Sharding;
+
+
+/**
+ * Базовый класс проверок без браузера.
+ * Результаты записываются в {@link ResultCollector}, как у UI-тестов, а при разбиении на шарды
+ * класс выполняется только в shard-0 — так каждая проверка попадает в объединённый отчёт ровно один раз.
+ */
+public abstract class UnitTest {
+
+    @ClassRule
+    public static final TestRule FIRST_SHARD_ONLY = Sharding.firstShardOnly();
+
+    @Rule
+    public final TestWatcher results = ResultCollector.shared().watcher();
+}
@@ -0,0 +1,292 @@
+// Поведение локальной копии qa-scooter.praktikum-services.ru:
+// баннер куки, аккордеон FAQ, двухшаговая форма заказа и модальное окно подтверждения.
+var Stand = (function () {
+    var CONSENT_COOKIE = 'Cartoshka';
+    var RENTAL_PERIODS = ['сутки', 'двое суток', 'трое суток', 'четверо суток',
+        'пятеро суток', 'шестеро суток', 'семеро суток'];
+
+    var order = {
+        firstName: '', lastName: '', address: '', metroStation: '', phone: '',
+        deliveryDate: '', rentTime: 0, color: [], comment: ''
+    };
+
+    function $(selector, root) {
+        return (root || document).querySelector(selector);
+    }
+
+    function initCommon() {
+        var banner = $('.App_CookieConsent__1yUIN');
+        if (document.cookie.indexOf(CONSENT_COOKIE + '=true') === -1) {
+            banner.hidden = false;
+        }
+        $('#rcc-confirm-button').addEventListener('click', function () {
+            document.cookie = CONSENT_COOKIE + '=true; path=/; max-age=31536000';
+            banner.hidden = true;
+        });
+        Array.prototype.forEach.call(document.querySelectorAll('[data-order-link]'), function (button) {
+            button.addEventListener('click', function () {
+                window.location.href = '/order';
+            });
+        });
+    }
+
+    // ******************** FAQ ********************
+
+    function initHome() {
+        initCommon();
+        Array.prototype.forEach.call(document.querySelectorAll('.accordion__button'), function (heading) {
+            heading.addEventListener('click', function () {
+                var expand = heading.getAttribute('aria-expanded') !== 'true';
+                // Как и в оригинале, одновременно раскрыт только один ответ
+                Array.prototype.forEach.call(document.querySelectorAll('.accordion__button'), function (other) {
+                    other.setAttribute('aria-expanded', 'false');
+                    document.getElementById(other.getAttribute('aria-controls')).hidden = true;
+                });
+                heading.setAttribute('aria-expanded', String(expand));
+                document.getElementById(heading.getAttribute('aria-controls')).hidden = !expand;
+            });
+        });
+    }
+
+    // ******************** ФОРМА ЗАКАЗА ********************
+
+    function textInput(placeholder, field) {
+        return '<div><input class="Input_Input__1iN_Z" placeholder="' + placeholder + '" data-field="' + field
+            + '" value="' + (order[field] || '') + '"></div>';
+    }
+
+    function bindTextInputs(form) {
+        Array.prototype.forEach.call(form.querySelectorAll('input[data-field]'), function (input) {
+            var sync = function () {
+                order[input.getAttribute('data-field')] = input.value;
+            };
+            input.addEventListener('input', sync);
+            input.addEventListener('change', sync);
+        });
+    }
+
+    function renderStepOne() {
+        $('.Order_Header__BZXOb').textContent = 'Для кого самокат';
+        var form = $('.Order_Form__17u6u');
+        form.innerHTML = textInput('* Имя', 'firstName')
+            + textInput('* Фамилия', 'lastName')
+            + textInput('* Адрес: куда привезти заказ', 'address')
+            + '<div class="Order_MetroField"><div class="select-search">'
+            + '<div class="select-search__value"><input class="select-search__input" placeholder="* Станция метро"'
+            + ' autocomplete="off" value="' + order.metroStation + '"></div>'
+            + '<div class="select-search__select" style="display: none"><ul class="select-search__options"></ul></div>'
+            + '</div></div>'
+            + textInput('* Телефон: на него позвонит курьер', 'phone');
+        bindTextInputs(form);
+        bindMetroSelect($('.select-search', form));
+
+        $('.Order_NextButton__1_rCA').innerHTML = '<button class="Button_Button__ra12g Button_Middle__1CSJM">Далее</button>';
+        $('.Order_NextButton__1_rCA button').addEventListener('click', function () {
+            if (validate(form, ['firstName', 'lastName', 'address', 'phone']) && order.metroStation) {
+                renderStepTwo();
+            }
+        });
+    }
+
+    // Выпадающий список станций: открывается по клику, фильтруется по вводу,
+    // стрелки выбирают вариант, Enter подтверждает выбор
+    function bindMetroSelect(root) {
+        var input = $('.select-search__input', root);
+        var popup = $('.select-search__select', root);
+        var list = $('.select-search__options', root);
+        var stations = [];
+        var highlighted = -1;
+
+        function visible() {
+            var query = input.value.toLowerCase();
+            return stations.filter(function (station) {
+                return station.name.toLowerCase().indexOf(query) !== -1;
+            });
+        }
+
+        function render() {
+            list.innerHTML = visible().map(function (station, i) {
+                return '<li class="select-search__row"><button class="select-search__option'
+                    + (i === highlighted ? ' is-highlighted' : '') + '" value="' + station.number + '">'
+                    + station.name + '</button></li>';
+            }).join('');
+        }
+
+        function choose(name) {
+            order.metroStation = name;
+            input.value = name;
+            popup.style.display = 'none';
+            highlighted = -1;
+        }
+
+        function open() {
+            // Станции подгружаются с сервера, как в оригинале
+            fetch('/api/v1/stations/search?s=').then(function (response) {
+                return response.json();
+            }).then(function (data) {
+                stations = data;
+                render();
+                popup.style.display = 'block';
+            });
+        }
+
+        input.addEventListener('click', open);
+        input.addEventListener('input', function () {
+            order.metroStation = '';
+            highlighted = -1;
+            render();
+            popup.style.display = 'block';
+        });
+        input.addEventListener('keydown', function (event) {
+            var options = visible();
+            if (event.key === 'ArrowDown') {
+                highlighted = Math.min(highlighted + 1, options.length - 1);
+                render();
+                event.preventDefault();
+            } else if (event.key === 'ArrowUp') {
+                highlighted = Math.max(highlighted - 1, 0);
+                render();
+                event.preventDefault();
+            } else if (event.key === 'Enter' && highlighted >= 0 && options[highlighted]) {
+                choose(options[highlighted].name);
+                event.preventDefault();
+            }
+        });
+        list.addEventListener('mousedown', function (event) {
+            if (event.target.classList.contains('select-search__option')) {
+                choose(event.target.textContent);
+                event.preventDefault();
+            }
+        });
+    }
+
+    function renderStepTwo() {
+        $('.Order_Header__BZXOb').textContent = 'Про аренду';
+        var form = $('.Order_Form__17u6u');
+        form.innerHTML = '<div class="react-datepicker-wrapper">' + textInput('* Когда привезти самокат', 'deliveryDate')
+            + '</div>'
+            + '<div class="Dropdown-root"><div class="Dropdown-control" aria-haspopup="listbox">'
+            + '<div class="Dropdown-placeholder">' + (order.rentTime ? RENTAL_PERIODS[order.rentTime - 1] : '* Срок аренды')
+            + '</div><div class="Dropdown-arrow-wrapper"><span class="Dropdown-arrow"></span></div></div></div>'
+            + '<div class="Order_Checkboxes__3lWSI">'
+            + '<label class="Checkbox_Label__3wxSf" for="black"><input id="black" class="Checkbox_Input__14A2w" type="checkbox">чёрный жемчуг</label>'
+            + '<label class="Checkbox_Label__3wxSf" for="grey"><input id="grey" class="Checkbox_Input__14A2w" type="checkbox">серая безысходность</label>'
+            + '</div>'
+            + textInput('Комментарий для курьера', 'comment');
+        bindTextInputs(form);
+        bindDatePicker($('input[data-field="deliveryDate"]', form));
+        bindRentalDropdown($('.Dropdown-root', form));
+        ['black', 'grey'].forEach(function (id) {
+            document.getElementById(id).addEventListener('change', function () {
+                order.color = ['black', 'grey'].filter(function (c) {
+                    return document.getElementById(c).checked;
+                }).map(function (c) {
+                    return c.toUpperCase();
+                });
+            });
+        });
+
+        var buttons = $('.Order_NextButton__1_rCA');
+        buttons.innerHTML = '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Назад</button>'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM">Заказать</button>';
+        buttons.children[0].addEventListener('click', renderStepOne);
+        buttons.children[1].addEventListener('click', function () {
+            if (validate(form, ['deliveryDate']) && order.rentTime) {
+                showConfirmation();
+            }
+        });
+    }
+
+    function bindDatePicker(input) {
+        var popper = null;
+        input.addEventListener('focus', function () {
+            if (!popper) {
+                popper = document.createElement('div');
+                popper.className = 'react-datepicker-popper';
+                popper.textContent = 'Календарь';
+                input.parentNode.appendChild(popper);
+            }
+        });
+        input.addEventListener('keydown', function (event) {
+            if (event.key === 'Escape' && popper) {
+                popper.parentNode.removeChild(popper);
+                popper = null;
+            }
+        });
+    }
+
+    function bindRentalDropdown(root) {
+        var control = $('.Dropdown-control', root);
+        control.addEventListener('click', function () {
+            var menu = $('.Dropdown-menu', root);
+            if (menu) {
+                root.removeChild(menu);
+                return;
+            }
+            menu = document.createElement('div');
+            menu.className = 'Dropdown-menu';
+            menu.innerHTML = RENTAL_PERIODS.map(function (period) {
+                return '<div class="Dropdown-option" role="option">' + period + '</div>';
+            }).join('');
+            menu.addEventListener('click', function (event) {
+                var index = RENTAL_PERIODS.indexOf(event.target.textContent);
+                if (index !== -1) {
+                    order.rentTime = index + 1;
+                    $('.Dropdown-placeholder', root).textContent = RENTAL_PERIODS[index];
+                    root.removeChild(menu);
+                }
+            });
+            root.appendChild(menu);
+        });
+    }
+
+    function validate(form, fields) {
+        var valid = true;
+        fields.forEach(function (field) {
+            var input = $('input[data-field="' + field + '"]', form);
+            var empty = !order[field];
+            input.classList.toggle('Input_Error__1Tx-D', empty);
+            valid = valid && !empty;
+        });
+        return valid;
+    }
+
+    // ******************** ПОДТВЕРЖДЕНИЕ ********************
+
+    function showConfirmation() {
+        var modal = $('.Order_Modal__YZ-d3');
+        modal.innerHTML = '<div class="Order_ModalHeader__3FDaJ">Хотите оформить заказ?</div>'
+            + '<div class="Order_Buttons__1xGrp">'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Нет</button>'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM">Да</button></div>';
+        modal.style.display = 'block';
+        modal.querySelectorAll('button')[0].addEventListener('click', function () {
+            modal.style.display = 'none';
+        });
+        modal.querySelectorAll('button')[1].addEventListener('click', submitOrder);
+    }
+
+    function submitOrder() {
+        fetch('/api/v1/orders', {
+            method: 'POST',
+            headers: {'Content-Type': 'application/json'},
+            body: JSON.stringify(order)
+        }).then(function (response) {
+            return response.json();
+        }).then(function (data) {
+            var modal = $('.Order_Modal__YZ-d3');
+            modal.innerHTML = '<div class="Order_ModalHeader__3FDaJ">Заказ оформлен'
+                + '<div class="Order_Text__2broi">Номер заказа: ' + data.track + '.  Запишите его:<br>'
+                + ' пригодится, чтобы отслеживать статус</div></div>'
+                + '<div class="Order_Buttons__1xGrp"><button class="Button_Button__ra12g Button_Middle__1CSJM">'
+                + 'Посмотреть статус</button></div>';
+        });
+    }
+
+    function initOrder() {
+        initCommon();
+        renderStepOne();
+    }
+
+    return {initHome: initHome, initOrder: initOrder};
+})();